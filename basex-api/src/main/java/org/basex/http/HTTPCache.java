@@ -0,0 +1,222 @@
+package org.basex.http;
+
+import java.io.*;
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.basex.core.*;
+import org.basex.io.out.*;
+import org.basex.util.*;
+
+/**
+ * Size-bounded cache for serialized database documents.
+ *
+ * <p>Entries are addressed by a key that consists of the database name, the resource path,
+ * the timestamp of the database and the serialization parameters. As the timestamp changes
+ * whenever a database is updated, outdated entries will never be returned again; they will be
+ * evicted as soon as the cache is full. The key is also used to compute entity tags.</p>
+ *
+ * <p>Documents are written to the response and copied to the cache at the same time
+ * (see {@link #output(String, OutputStream)}); the copy is discarded as soon as it gets
+ * larger than the cache.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class HTTPCache {
+  /** Singleton instance. */
+  private static HTTPCache instance;
+
+  /** Cached entries, ordered by access. */
+  private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  /** Maximum size of all cached entries (bytes). */
+  private final long max;
+  /** Maximum size of a single entry (bytes). */
+  private final int limit;
+  /** Current size of all cached entries (bytes). */
+  private long size;
+
+  /**
+   * Constructor.
+   * @param max maximum size of all entries (bytes)
+   */
+  HTTPCache(final long max) {
+    this.max = max;
+    limit = (int) Math.min(max, Integer.MAX_VALUE - 8);
+  }
+
+  /**
+   * Returns the cache instance. A new instance is created if the cache size has been changed.
+   * @return instance
+   */
+  public static synchronized HTTPCache get() {
+    final long kb = HTTPContext.context().soptions.get(StaticOptions.HTTPCACHE);
+    final long max = Math.max(0, kb) << 10;
+    if(instance == null || instance.max != max) instance = new HTTPCache(max);
+    return instance;
+  }
+
+  /**
+   * Indicates if the cache is enabled.
+   * @return result of check
+   */
+  public boolean enabled() {
+    return max > 0;
+  }
+
+  /**
+   * Returns the cache key for a database resource.
+   * @param db name of database
+   * @param path resource path
+   * @param time timestamp of the database
+   * @param params serialization parameters
+   * @return key
+   */
+  public static String key(final String db, final String path, final long time,
+      final String params) {
+    return db + '\0' + path + '\0' + time + '\0' + params;
+  }
+
+  /**
+   * Returns an entity tag for the specified key.
+   * @param key key
+   * @return entity tag (including quotes)
+   */
+  public static String etag(final String key) {
+    return '"' + Strings.md5(key) + '"';
+  }
+
+  /**
+   * Checks if the value of an {@code If-None-Match} header matches the specified entity tag.
+   * Lists of entity tags, the {@code *} wildcard and weak tags are supported; as demanded by
+   * RFC 7232, weak comparison is applied.
+   * @param header header value (can be {@code null})
+   * @param etag entity tag (including quotes)
+   * @return result of check
+   */
+  public static boolean matches(final String header, final String etag) {
+    if(header == null) return false;
+    final String value = header.trim();
+    if(value.equals("*")) return true;
+
+    final int vl = value.length();
+    int v = 0;
+    while(v < vl) {
+      final char ch = value.charAt(v);
+      if(ch == ',' || Character.isWhitespace(ch)) {
+        v++;
+        continue;
+      }
+      // skip weakness indicator, parse quoted tag; reject malformed values
+      if(value.startsWith("W/", v)) v += 2;
+      if(v == vl || value.charAt(v) != '"') return false;
+      final int e = value.indexOf('"', v + 1);
+      if(e == -1) return false;
+      if(value.substring(v, e + 1).equals(etag)) return true;
+      v = e + 1;
+    }
+    return false;
+  }
+
+  /**
+   * Returns an output stream that writes all data to the specified stream and copies it to
+   * this cache. The copy will be stored by calling {@link CacheOutput#cache()}.
+   * @param key key
+   * @param out output stream
+   * @return output stream
+   */
+  public CacheOutput output(final String key, final OutputStream out) {
+    return new CacheOutput(key, out);
+  }
+
+  /**
+   * Returns a cached entry.
+   * @param key key
+   * @return serialized bytes or {@code null}
+   */
+  public synchronized byte[] get(final String key) {
+    return entries.get(key);
+  }
+
+  /**
+   * Caches an entry. Least recently used entries are evicted if the cache is full.
+   * Entries that are larger than the cache will be ignored.
+   * @param key key
+   * @param value serialized bytes
+   */
+  public synchronized void put(final String key, final byte[] value) {
+    final long vl = value.length;
+    if(vl > max) return;
+
+    final byte[] old = entries.put(key, value);
+    size += vl - (old != null ? old.length : 0);
+    final Iterator<Entry<String, byte[]>> iter = entries.entrySet().iterator();
+    while(size > max && iter.hasNext()) {
+      final Entry<String, byte[]> entry = iter.next();
+      if(entry.getValue() == value) continue;
+      size -= entry.getValue().length;
+      iter.remove();
+    }
+  }
+
+  /**
+   * Output stream that writes data to a target stream and caches a bounded copy.
+   */
+  public final class CacheOutput extends OutputStream {
+    /** Key. */
+    private final String key;
+    /** Target stream. */
+    private final OutputStream out;
+    /** Copy of the written data ({@code null} if it exceeded the size limit). */
+    private ArrayOutput copy = new ArrayOutput();
+
+    /**
+     * Constructor.
+     * @param key key
+     * @param out target stream
+     */
+    private CacheOutput(final String key, final OutputStream out) {
+      this.key = key;
+      this.out = out;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      out.write(b);
+      if(copy != null) {
+        if(copy.size() < limit) copy.write(b);
+        else copy = null;
+      }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      out.write(b, off, len);
+      if(copy != null) {
+        if(copy.size() + len <= limit) copy.write(b, off, len);
+        else copy = null;
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+
+    /**
+     * Caches the written data, unless it exceeded the size limit.
+     * Must only be called if all data has been successfully written.
+     */
+    public void cache() {
+      if(copy != null) {
+        put(key, copy.finish());
+        copy = null;
+      }
+    }
+  }
+}
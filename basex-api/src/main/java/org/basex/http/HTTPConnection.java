@@ -294,6 +294,7 @@ public final class HTTPConnection implements ClientInfo {
       return MediaType.APPLICATION_XML;
     if(sm == SerialMethod.XHTML || sm == SerialMethod.HTML) return MediaType.TEXT_HTML;
     if(sm == SerialMethod.JSON) return MediaType.APPLICATION_JSON;
+    if(sm == SerialMethod.XDM) return MediaType.APPLICATION_OCTET_STREAM;
     return MediaType.TEXT_PLAIN;
   }
 
@@ -5,13 +5,17 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import javax.servlet.http.*;
+
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.data.*;
 import org.basex.http.*;
 import org.basex.io.serial.*;
 import org.basex.query.func.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
+import org.basex.util.http.*;
 
 /**
  * Retrieve resources via REST.
@@ -39,10 +43,33 @@ final class RESTRetrieve extends RESTCmd {
       // return database resource
       final boolean raw = run(query(_DB_IS_RAW)).equals(Text.TRUE);
       if(raw) sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
-      conn.initResponse();
-
       context.options.set(MainOptions.SERIALIZER, sopts);
-      run(query(raw ? _DB_RETRIEVE : _DB_OPEN), conn.res.getOutputStream());
+
+      final HTTPCache cache = HTTPCache.get();
+      if(raw || !cache.enabled()) {
+        conn.initResponse();
+        run(query(raw ? _DB_RETRIEVE : _DB_OPEN), conn.res.getOutputStream());
+      } else {
+        // serialized documents are cached until the database is updated
+        final MetaData meta = context.data().meta;
+        final String key = HTTPCache.key(conn.db(), conn.dbpath(),
+            Math.max(meta.time, meta.dbtime()), sopts.toString());
+        final String etag = HTTPCache.etag(key);
+        conn.res.setHeader(HttpText.ETAG, etag);
+        if(HTTPCache.matches(conn.req.getHeader(HttpText.IF_NONE_MATCH), etag)) {
+          conn.res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+          return;
+        }
+        final byte[] value = cache.get(key);
+        conn.initResponse();
+        if(value != null) {
+          conn.res.getOutputStream().write(value);
+        } else {
+          final HTTPCache.CacheOutput out = cache.output(key, conn.res.getOutputStream());
+          run(query(_DB_OPEN), out);
+          out.cache();
+        }
+      }
 
     } else {
       // list database resources
@@ -213,8 +213,8 @@ final class WebDAVService {
    * @param out output stream
    * @throws IOException I/O exception
    */
-  void retrieve(final String db, final String path, final boolean raw, final OutputStream out)
-      throws IOException {
+  private void retrieve(final String db, final String path, final boolean raw,
+      final OutputStream out) throws IOException {
 
     session().setOutputStream(out);
     final WebDAVQuery query = new WebDAVQuery(
@@ -225,6 +225,29 @@ final class WebDAVService {
     query.execute(session());
   }
 
+  /**
+   * Writes a file to the specified output stream. Serialized documents will be cached.
+   * @param meta resource meta data
+   * @param out output stream
+   * @throws IOException I/O exception
+   */
+  void retrieve(final WebDAVMetaData meta, final OutputStream out) throws IOException {
+    final HTTPCache cache = HTTPCache.get();
+    if(meta.raw || meta.mdate == null || !cache.enabled()) {
+      retrieve(meta.db, meta.path, meta.raw, out);
+    } else {
+      final String key = HTTPCache.key(meta.db, meta.path, meta.mdate.getTime(), WEBDAV);
+      final byte[] value = cache.get(key);
+      if(value != null) {
+        out.write(value);
+      } else {
+        final HTTPCache.CacheOutput co = cache.output(key, out);
+        retrieve(meta.db, meta.path, false, co);
+        co.cache();
+      }
+    }
+  }
+
   /**
    * Creates an empty database with the given name.
    * @param db database name
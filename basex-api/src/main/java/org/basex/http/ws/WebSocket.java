@@ -38,6 +38,8 @@ public final class WebSocket extends WebSocketAdapter implements ClientInfo {
 
   /** Path. */
   private final WsPath path;
+  /** Outgoing messages. */
+  private final WsQueue queue = new WsQueue();
 
   /**
    * Constructor.
@@ -63,6 +65,33 @@ public final class WebSocket extends WebSocketAdapter implements ClientInfo {
     return path.toString();
   }
 
+  /**
+   * Sends serialized messages without blocking. Messages will be dropped if the number of
+   * pending messages exceeds the specified limit.
+   * @param values messages (strings or byte arrays)
+   * @param max maximum number of pending messages
+   */
+  void send(final ArrayList<Object> values, final int max) {
+    final Session sess = getSession();
+    if(sess != null && sess.isOpen()) queue.send(sess.getRemote(), values, max);
+  }
+
+  /**
+   * Returns the number of pending outgoing messages.
+   * @return number of messages
+   */
+  int pending() {
+    return queue.pending();
+  }
+
+  /**
+   * Returns the number of dropped outgoing messages.
+   * @return number of messages
+   */
+  long dropped() {
+    return queue.dropped();
+  }
+
   @Override
   public void onWebSocketConnect(final Session sess) {
     super.onWebSocketConnect(sess);
@@ -1,15 +1,17 @@
 package org.basex.http.ws;
 
 import java.io.*;
-import java.nio.*;
 import java.util.*;
 import java.util.Map.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
+import org.basex.core.*;
+import org.basex.http.*;
 import org.basex.io.serial.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.list.*;
-import org.eclipse.jetty.websocket.api.*;
 
 /**
  * This class defines a pool for WebSockets. It manages all connected WebSockets.
@@ -23,10 +25,10 @@ public final class WsPool {
   /** WebSocket prefix. */
   private static final String PREFIX = "websocket";
   /** Incrementing id. */
-  private static long websocketId = -1;
+  private static final AtomicLong ID = new AtomicLong();
 
   /** Clients of the pool. id -> adapter. */
-  private final HashMap<String, WebSocket> clients = new HashMap<>();
+  private final ConcurrentHashMap<String, WebSocket> clients = new ConcurrentHashMap<>();
 
   /**
    * Returns the pool instance.
@@ -95,14 +97,11 @@ public final class WsPool {
   public void broadcast(final Item message, final String client)
       throws QueryException, IOException {
 
-    /* [JF] We need to check what happens if a client is removed from the hash map while we iterate
-     * through all entries. this can be tested by calling Performance.sleep(...) in the loop.
-     * we could possibly use a ConcurrentHashMap. */
     final ArrayList<WebSocket> list = new ArrayList<>();
     for(final Entry<String, WebSocket> entry : clients.entrySet()) {
       final String id = entry.getKey();
       if(client == null || !client.equals(id)) list.add(entry.getValue());
-    };
+    }
     send(message, list);
   }
 
@@ -122,8 +121,29 @@ public final class WsPool {
     send(message, list);
   }
 
+  /**
+   * Returns the number of pending messages of the specified client.
+   * @param id client id
+   * @return number of messages, or {@code -1} if the client is unknown
+   */
+  public int pending(final String id) {
+    final WebSocket ws = clients.get(id);
+    return ws != null ? ws.pending() : -1;
+  }
+
+  /**
+   * Returns the number of messages that have been dropped for the specified client.
+   * @param id client id
+   * @return number of messages, or {@code -1} if the client is unknown
+   */
+  public long dropped(final String id) {
+    final WebSocket ws = clients.get(id);
+    return ws != null ? ws.dropped() : -1;
+  }
+
   /**
    * Sends a message to the specified clients.
+   * The message is serialized once, and it is sent to all clients without blocking.
    * @param message message
    * @param websockets clients
    * @throws QueryException query exception
@@ -132,29 +152,16 @@ public final class WsPool {
   private void send(final Item message, final ArrayList<WebSocket> websockets)
       throws QueryException, IOException {
 
-    /* [JF] We need to check what happens if a client says goodbye while we send data.
-     *  if this happens, other clients must still receive their message.
-     *  this could be tested by calling Performance.sleep(...) before sending the data. */
     final ArrayList<Object> values = WsResponse.serialize(message.iter(), new SerializerOptions());
-    for(final WebSocket ws : websockets) {
-      if(!ws.isConnected()) continue;
-      final RemoteEndpoint remote = ws.getSession().getRemote();
-      for(final Object value : values) {
-        if(value instanceof byte[]) {
-          remote.sendBytesByFuture(ByteBuffer.wrap((byte[]) value));
-        } else {
-          remote.sendStringByFuture((String) value);
-        }
-      }
-    }
+    final int max = Math.max(1, HTTPContext.context().soptions.get(StaticOptions.WSQUEUE));
+    for(final WebSocket ws : websockets) ws.send(values, max);
   }
 
   /**
    * Creates a new, unused WebSocket id.
    * @return new id
    */
-  private static synchronized String createId() {
-    websocketId = Math.max(0, websocketId + 1);
-    return PREFIX + websocketId;
+  private static String createId() {
+    return PREFIX + ID.getAndIncrement();
   }
 }
@@ -0,0 +1,74 @@
+package org.basex.http.ws;
+
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import org.basex.util.*;
+import org.eclipse.jetty.websocket.api.*;
+
+/**
+ * Outgoing messages of a WebSocket client. Messages are sent without blocking. If the number of
+ * pending messages exceeds a limit, new messages are dropped and counted.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+final class WsQueue implements WriteCallback {
+  /** Number of pending outgoing messages. */
+  private final AtomicInteger pending = new AtomicInteger();
+  /** Number of dropped outgoing messages. */
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Sends serialized values without blocking. The values of a single call are sent as
+   * consecutive messages. They are dropped as a whole if the number of pending messages would
+   * exceed the specified limit.
+   * @param remote remote endpoint
+   * @param values values (strings or byte arrays)
+   * @param max maximum number of pending messages
+   */
+  synchronized void send(final RemoteEndpoint remote, final List<Object> values,
+      final int max) {
+    final int size = values.size();
+    if(pending.get() + size > max) {
+      dropped.addAndGet(size);
+      return;
+    }
+    pending.addAndGet(size);
+    for(final Object value : values) {
+      if(value instanceof byte[]) {
+        remote.sendBytes(ByteBuffer.wrap((byte[]) value), this);
+      } else {
+        remote.sendString((String) value, this);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of pending outgoing messages.
+   * @return number of messages
+   */
+  int pending() {
+    return pending.get();
+  }
+
+  /**
+   * Returns the number of dropped outgoing messages.
+   * @return number of messages
+   */
+  long dropped() {
+    return dropped.get();
+  }
+
+  @Override
+  public void writeSuccess() {
+    pending.decrementAndGet();
+  }
+
+  @Override
+  public void writeFailed(final Throwable ex) {
+    pending.decrementAndGet();
+    Util.debug(ex);
+  }
+}
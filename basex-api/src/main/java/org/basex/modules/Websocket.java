@@ -49,7 +49,6 @@ public final class Websocket extends QueryModule {
     pool().emit(message);
   }
 
-
   /**
    * Broadcasts a message to all connected clients without the sender.
    * @param message message
@@ -91,6 +90,24 @@ public final class Websocket extends QueryModule {
     return pool().path(id.toJava());
   }
 
+  /**
+   * Returns the number of pending outgoing messages of the specified client.
+   * @param id id of client
+   * @return number of messages, or {@code -1} if the client is unknown
+   */
+  public int pending(final Str id) {
+    return pool().pending(id.toJava());
+  }
+
+  /**
+   * Returns the number of outgoing messages that have been dropped for the specified client.
+   * @param id id of client
+   * @return number of messages, or {@code -1} if the client is unknown
+   */
+  public long dropped(final Str id) {
+    return pool().dropped(id.toJava());
+  }
+
   /**
    * Returns a reference to the WebSocket pool.
    * @return pool
@@ -33,6 +33,8 @@ import org.basex.util.list.*;
 import org.junit.*;
 import org.junit.Test;
 
+import com.sun.net.httpserver.HttpServer;
+
 /**
  * This class tests the server-based HTTP Client.
  *
@@ -115,6 +117,118 @@ public class FnHttpTest extends HTTPTest {
     }
   }
 
+  /**
+   * Test sending of HTTP POST requests with a linked resource.
+   * @throws Exception exception
+   */
+  @Test public void postSrc() throws Exception {
+    final IOFile file = new IOFile(sandbox(), "query.xml");
+    write(file, "<query xmlns='" + Prop.URL + "/rest'><text>1 + 1</text></query>");
+    try(QueryProcessor qp = new QueryProcessor(_HTTP_SEND_REQUEST.args(
+        " <http:request method='post' override-media-type='text/plain'>"
+        + "<http:body media-type='application/xml' src='" + file.url() + "'/>"
+        + "</http:request>", REST_ROOT) + "[2]", ctx)) {
+      assertEquals("2", qp.value().serialize().toString());
+    }
+  }
+
+  /**
+   * Test redirects of streamed request bodies.
+   * @throws Exception exception
+   */
+  @Test public void postSrcRedirect() throws Exception {
+    final IOFile file = new IOFile(sandbox(), "body.txt");
+    write(file, "BODY");
+    final HttpServer server = server();
+    try {
+      final String url = "http://localhost:" + server.getAddress().getPort() + '/';
+      final String request = " <http:request method='post'%>"
+          + "<http:body media-type='text/plain' src='" + file.url() + "'/></http:request>";
+      // 307: body is resent
+      try(QueryProcessor qp = new QueryProcessor(_HTTP_SEND_REQUEST.args(
+          request.replace("%", ""), url + "307") + "[2]", ctx)) {
+        assertEquals("POST BODY", qp.value().serialize().toString());
+      }
+      // 302: POST request is redirected as GET request
+      try(QueryProcessor qp = new QueryProcessor(_HTTP_SEND_REQUEST.args(
+          request.replace("%", ""), url + "302") + "[2]", ctx)) {
+        assertEquals("GET ", qp.value().serialize().toString());
+      }
+      // redirect is not followed
+      try(QueryProcessor qp = new QueryProcessor(_HTTP_SEND_REQUEST.args(
+          request.replace("%", " follow-redirect='false'"), url + "307") +
+          "[1]/@status/data()", ctx)) {
+        assertEquals("307", qp.value().serialize().toString());
+      }
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  /**
+   * Test streaming of response bodies.
+   * @throws Exception exception
+   */
+  @Test public void streamResponse() throws Exception {
+    final IOFile file = new IOFile(sandbox(), "response.xml");
+    final HttpServer server = server();
+    try {
+      final String request = _HTTP_SEND_REQUEST.args(" <http:request method='get' stream='true'/>",
+          "http://localhost:" + server.getAddress().getPort() + "/xml");
+      // body is returned as binary item
+      try(QueryProcessor qp = new QueryProcessor(request + "[2] instance of xs:base64Binary",
+          ctx)) {
+        assertEquals("true", qp.value().serialize().toString());
+      }
+      // write body to file
+      try(QueryProcessor qp = new QueryProcessor(_FILE_WRITE_BINARY.args(file.path(),
+          " " + request + "[2]"), ctx)) {
+        qp.value();
+      }
+      assertEquals("<a>B</a>", string(file.read()));
+      // parse body into database
+      try(QueryProcessor qp = new QueryProcessor(_DB_CREATE.args(NAME, " " + request + "[2]",
+          "doc.xml"), ctx)) {
+        qp.value();
+      }
+      try(QueryProcessor qp = new QueryProcessor(_DB_OPEN.args(NAME, "doc.xml"), ctx)) {
+        assertEquals("<a>B</a>", qp.value().serialize().toString());
+      }
+    } finally {
+      server.stop(0);
+      new DropDB(NAME).execute(ctx);
+    }
+  }
+
+  /**
+   * Returns a local server. Requests to {@code /307} and {@code /302} are redirected to
+   * {@code /echo}, which returns the method and body of the request. Requests to {@code /xml}
+   * return an XML document.
+   * @return server
+   * @throws IOException I/O exception
+   */
+  private static HttpServer server() throws IOException {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", exchange -> {
+      final String path = exchange.getRequestURI().getPath();
+      final byte[] body = BufferInput.get(exchange.getRequestBody()).content();
+      if(path.startsWith("/30")) {
+        exchange.getResponseHeaders().add(LOCATION, "/echo");
+        exchange.sendResponseHeaders(Integer.parseInt(path.substring(1)), -1);
+      } else {
+        final boolean xml = path.equals("/xml");
+        final byte[] response = xml ? token("<a>B</a>") :
+          concat(token(exchange.getRequestMethod() + ' '), body);
+        exchange.getResponseHeaders().add(CONTENT_TYPE, xml ? "application/xml" : "text/plain");
+        exchange.sendResponseHeaders(200, response.length);
+        exchange.getResponseBody().write(response);
+      }
+      exchange.close();
+    });
+    server.start();
+    return server;
+  }
+
   /**
    * Test sending of HTTP GET requests.
    * @throws Exception exception
@@ -217,6 +331,42 @@ public class FnHttpTest extends HTTPTest {
     }
   }
 
+  /**
+   * Tests if redirects are configured per request.
+   * @throws Exception exception
+   */
+  @Test public void followRedirect() throws Exception {
+    try(QueryProcessor qp = new QueryProcessor(_HTTP_SEND_REQUEST.args(
+        " <http:request method='get' follow-redirect='false'/>", REST_ROOT) +
+        "[1]/@status/data()", ctx)) {
+      assertEquals("200", qp.value().serialize().toString());
+    }
+    // global setting must not be changed
+    assertTrue(HttpURLConnection.getFollowRedirects());
+  }
+
+  /**
+   * Tests if the maximum number of connections that are kept alive per host is assigned to the
+   * {@code http.maxConnections} system property. The connection limit itself is not checked,
+   * as it is read only once by the JVM.
+   */
+  @Test public void httpConnections() {
+    final String name = "http.maxConnections", old = System.clearProperty(name);
+    Prop.put(StaticOptions.HTTPCONNECTIONS, "16");
+    try {
+      new Context().close();
+      assertEquals("16", System.getProperty(name));
+      // existing system property is not overwritten
+      System.setProperty(name, "8");
+      new Context().close();
+      assertEquals("8", System.getProperty(name));
+    } finally {
+      Prop.put(StaticOptions.HTTPCONNECTIONS, "0");
+      if(old != null) System.setProperty(name, old);
+      else System.clearProperty(name);
+    }
+  }
+
   /**
    * Parse normal request.
    * @throws IOException I/O Exception
@@ -0,0 +1,75 @@
+package org.basex.http;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.basex.io.out.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * This class tests the cache for serialized documents.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class HTTPCacheTest {
+  /** Entity tag. */
+  private static final String ETAG = HTTPCache.etag("key");
+
+  /** Matching of entity tags. */
+  @Test
+  public void matches() {
+    assertTrue(HTTPCache.matches(ETAG, ETAG));
+    assertTrue(HTTPCache.matches(" " + ETAG + " ", ETAG));
+    assertTrue(HTTPCache.matches("*", ETAG));
+    assertTrue(HTTPCache.matches("W/" + ETAG, ETAG));
+    assertTrue(HTTPCache.matches("\"a\", " + ETAG, ETAG));
+    assertTrue(HTTPCache.matches("\"a\",W/" + ETAG + ",\"b\"", ETAG));
+    assertTrue(HTTPCache.matches("\"a,b\", " + ETAG, ETAG));
+
+    assertFalse(HTTPCache.matches(null, ETAG));
+    assertFalse(HTTPCache.matches("", ETAG));
+    assertFalse(HTTPCache.matches("\"a\"", ETAG));
+    assertFalse(HTTPCache.matches("\"a\", \"b\"", ETAG));
+    assertFalse(HTTPCache.matches("\"a," + ETAG.substring(1), ETAG));
+    assertFalse(HTTPCache.matches(ETAG.substring(0, ETAG.length() - 1), ETAG));
+  }
+
+  /**
+   * Cached output.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void output() throws IOException {
+    final HTTPCache cache = new HTTPCache(8);
+    final byte[] data = Token.token("12345678");
+
+    // data is written and cached
+    ArrayOutput ao = new ArrayOutput();
+    HTTPCache.CacheOutput out = cache.output("a", ao);
+    out.write(data);
+    assertNull(cache.get("a"));
+    out.cache();
+    assertArrayEquals(data, ao.finish());
+    assertArrayEquals(data, cache.get("a"));
+
+    // data exceeds the cache limit: data is written, copy is discarded
+    ao = new ArrayOutput();
+    out = cache.output("b", ao);
+    out.write(data);
+    out.write('9');
+    out.cache();
+    assertEquals("123456789", ao.toString());
+    assertNull(cache.get("b"));
+    assertArrayEquals(data, cache.get("a"));
+
+    // least recently used entry is evicted
+    out = cache.output("c", new ArrayOutput());
+    out.write('1');
+    out.cache();
+    assertNull(cache.get("a"));
+    assertArrayEquals(Token.token("1"), cache.get("c"));
+  }
+}
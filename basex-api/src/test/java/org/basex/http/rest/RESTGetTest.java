@@ -3,8 +3,10 @@ package org.basex.http.rest;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.net.*;
 
 import org.basex.core.*;
+import org.basex.http.*;
 import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.util.http.*;
@@ -159,4 +161,64 @@ public final class RESTGetTest extends RESTTest {
     } catch(final IOException ignored) {
     }
   }
+
+  /**
+   * Cached documents, entity tags.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void cache() throws IOException {
+    final StaticOptions sopts = HTTPContext.context().soptions;
+    sopts.set(StaticOptions.HTTPCACHE, 1024);
+    try {
+      put(NAME, new ArrayInput("<a/>"));
+      final String path = NAME + '/' + NAME + ".xml";
+      // first access finalizes the files of the new database (and updates its timestamp)
+      assertEquals("<a/>", get(path));
+
+      // document is serialized and cached, entity tag is returned
+      HttpURLConnection conn = connection(path, null);
+      assertEquals(HttpURLConnection.HTTP_OK, conn.getResponseCode());
+      final String etag = conn.getHeaderField(HttpText.ETAG);
+      assertNotNull(etag);
+      assertEquals("<a/>", read(conn.getInputStream()));
+
+      // document is returned from the cache
+      conn = connection(path, "\"x\"");
+      assertEquals(HttpURLConnection.HTTP_OK, conn.getResponseCode());
+      assertEquals(etag, conn.getHeaderField(HttpText.ETAG));
+      assertEquals("<a/>", read(conn.getInputStream()));
+
+      // matching entity tags
+      for(final String header : new String[] { etag, "*", "W/" + etag, "\"x\", " + etag }) {
+        conn = connection(path, header);
+        assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, conn.getResponseCode());
+        conn.disconnect();
+      }
+
+      // updated document: new entity tag and contents
+      put(NAME + '/' + NAME + ".xml", new ArrayInput("<b/>"));
+      conn = connection(path, etag);
+      assertEquals(HttpURLConnection.HTTP_OK, conn.getResponseCode());
+      assertFalse(etag.equals(conn.getHeaderField(HttpText.ETAG)));
+      assertEquals("<b/>", read(conn.getInputStream()));
+    } finally {
+      sopts.set(StaticOptions.HTTPCACHE, 0);
+      delete(NAME);
+    }
+  }
+
+  /**
+   * Returns a connection for the specified path.
+   * @param path path
+   * @param etag value of the If-None-Match header (can be {@code null})
+   * @return connection
+   * @throws IOException I/O exception
+   */
+  private static HttpURLConnection connection(final String path, final String etag)
+      throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) new IOUrl(REST_ROOT + path).connection();
+    if(etag != null) conn.setRequestProperty(HttpText.IF_NONE_MATCH, etag);
+    return conn;
+  }
 }
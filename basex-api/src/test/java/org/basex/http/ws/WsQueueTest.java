@@ -0,0 +1,72 @@
+package org.basex.http.ws;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import org.eclipse.jetty.websocket.api.*;
+import org.junit.*;
+
+/**
+ * This class tests the queue for outgoing WebSocket messages.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class WsQueueTest {
+  /** Sent messages. */
+  private final ArrayList<Object> sent = new ArrayList<>();
+  /** Callbacks of the sent messages. */
+  private final ArrayList<WriteCallback> callbacks = new ArrayList<>();
+  /** Remote endpoint, which records the sent messages. */
+  private final RemoteEndpoint remote = (RemoteEndpoint) Proxy.newProxyInstance(
+      RemoteEndpoint.class.getClassLoader(), new Class<?>[] { RemoteEndpoint.class },
+      (proxy, method, args) -> {
+        sent.add(args[0]);
+        callbacks.add((WriteCallback) args[1]);
+        return null;
+      });
+
+  /**
+   * Sends messages and completes them.
+   */
+  @Test
+  public void send() {
+    final WsQueue queue = new WsQueue();
+    queue.send(remote, Arrays.asList("a", new byte[] { 1 }), 10);
+    assertEquals(2, sent.size());
+    assertEquals("a", sent.get(0));
+    assertEquals(2, queue.pending());
+
+    callbacks.get(0).writeSuccess();
+    callbacks.get(1).writeFailed(new Exception());
+    assertEquals(0, queue.pending());
+    assertEquals(0, queue.dropped());
+  }
+
+  /**
+   * Drops messages if the limit is exceeded.
+   */
+  @Test
+  public void limit() {
+    final WsQueue queue = new WsQueue();
+    queue.send(remote, Arrays.asList("a", "b"), 3);
+    // the values of a message are dropped as a whole
+    queue.send(remote, Arrays.asList("c", "d"), 3);
+    assertEquals(Arrays.asList("a", "b"), sent);
+    assertEquals(2, queue.pending());
+    assertEquals(2, queue.dropped());
+
+    queue.send(remote, Collections.singletonList("e"), 3);
+    assertEquals(3, queue.pending());
+    queue.send(remote, Collections.singletonList("f"), 3);
+    assertEquals(3, queue.dropped());
+
+    // messages are sent again after pending messages have been completed
+    for(final WriteCallback callback : new ArrayList<>(callbacks)) callback.writeSuccess();
+    queue.send(remote, Collections.singletonList("g"), 3);
+    assertEquals(Arrays.asList("a", "b", "e", "g"), sent);
+    assertEquals(1, queue.pending());
+  }
+}
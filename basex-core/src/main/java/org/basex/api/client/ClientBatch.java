@@ -0,0 +1,242 @@
+package org.basex.api.client;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.parse.*;
+import org.basex.io.in.*;
+import org.basex.io.out.*;
+import org.basex.server.*;
+import org.basex.util.*;
+
+/**
+ * This class collects database commands and query requests and sends them to the server
+ * in a single {@link ServerCmd#BATCH} request. All responses are returned in one go, so
+ * a batch costs a single network round trip:
+ * <ul>
+ * <li> Requests are added via {@link #execute(String)}, {@link #bind}, {@link #context},
+ * {@link #execute(ClientQuery)} and {@link #close(ClientQuery)}.</li>
+ * <li> {@link #send} sends all requests and returns the results in the order of the
+ * requests. All requests will be evaluated, even if some of them fail.</li>
+ * <li> An {@code exit} command closes the session. It must be the last request.</li>
+ * </ul>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class ClientBatch {
+  /** Client session. */
+  private final ClientSession cs;
+  /** Server commands ({@link ServerCmd#COMMAND} for database commands). */
+  private final ArrayList<ServerCmd> cmds = new ArrayList<>();
+  /** Arguments of the server commands. */
+  private final ArrayList<String> args = new ArrayList<>();
+
+  /**
+   * Constructor.
+   * @param session client session
+   */
+  ClientBatch(final ClientSession session) {
+    cs = session;
+  }
+
+  /**
+   * Adds a database command.
+   * @param command command string
+   * @return self reference
+   */
+  public ClientBatch execute(final String command) {
+    return add(ServerCmd.COMMAND, command);
+  }
+
+  /**
+   * Adds a database command.
+   * @param command command
+   * @return self reference
+   */
+  public ClientBatch execute(final Command command) {
+    return execute(command.toString());
+  }
+
+  /**
+   * Adds the binding of a value to an external variable of a query.
+   * @param query query
+   * @param name name of variable
+   * @param value value to be bound
+   * @param type value type (may be {@code null})
+   * @return self reference
+   * @throws IOException I/O exception
+   */
+  public ClientBatch bind(final ClientQuery query, final String name, final Object value,
+      final String type) throws IOException {
+    return add(ServerCmd.BIND, query.bindArgs(name, value, type));
+  }
+
+  /**
+   * Adds the binding of a value to the context of a query.
+   * @param query query
+   * @param value value to be bound
+   * @param type value type (may be {@code null})
+   * @return self reference
+   * @throws IOException I/O exception
+   */
+  public ClientBatch context(final ClientQuery query, final Object value, final String type)
+      throws IOException {
+    return add(ServerCmd.CONTEXT, query.bindArgs(null, value, type));
+  }
+
+  /**
+   * Adds the execution of a query.
+   * @param query query
+   * @return self reference
+   */
+  public ClientBatch execute(final ClientQuery query) {
+    return add(ServerCmd.EXEC, query.id);
+  }
+
+  /**
+   * Adds the closing of a query.
+   * @param query query
+   * @return self reference
+   */
+  public ClientBatch close(final ClientQuery query) {
+    return add(ServerCmd.CLOSE, query.id);
+  }
+
+  /**
+   * Returns the number of collected requests.
+   * @return number of requests
+   */
+  public int size() {
+    return cmds.size();
+  }
+
+  /**
+   * Sends all collected requests to the server and resets the batch.
+   * Results of commands and query executions are returned as strings, and empty strings are
+   * returned for all other requests. If a request fails, the remaining requests are evaluated
+   * anyway, and an exception with the first error message is raised after all responses have
+   * been received. Requests are written by a separate thread while the responses are read, so
+   * large requests and results cannot block each other. An {@code exit} command closes the
+   * session and must be the last request.
+   * @return results
+   * @throws IOException I/O exception
+   */
+  public String[] send() throws IOException {
+    final ServerCmd[] sent = cmds.toArray(new ServerCmd[0]);
+    final String[] sargs = args.toArray(new String[0]);
+    final int size = sent.length;
+    for(int c = 0; c < size - 1; c++) {
+      if(sent[c] == ServerCmd.COMMAND && exit(sargs[c]))
+        throw new BaseXException("Exit command must be the last request of a batch.");
+    }
+    cmds.clear();
+    args.clear();
+
+    final SendThread thread = new SendThread(sent, sargs);
+    thread.start();
+    final String[] results = new String[size];
+    String error = null;
+    final BufferInput bi = BufferInput.get(cs.sin);
+    for(int c = 0; c < size; c++) {
+      final ArrayOutput ao = new ArrayOutput();
+      ClientSession.receive(bi, ao);
+      results[c] = ao.toString();
+      final String info;
+      if(sent[c] == ServerCmd.COMMAND) {
+        info = bi.readString();
+        cs.info = info;
+        if(ClientSession.ok(bi)) continue;
+      } else {
+        if(ClientSession.ok(bi)) continue;
+        info = bi.readString();
+      }
+      if(error == null) error = info;
+    }
+    thread.finish();
+    if(error != null) throw new BaseXException(error);
+    return results;
+  }
+
+  @Override
+  public String toString() {
+    return Util.className(this) + '[' + cmds + ']';
+  }
+
+  /**
+   * Adds a request.
+   * @param cmd server command
+   * @param arg argument
+   * @return self reference
+   */
+  private ClientBatch add(final ServerCmd cmd, final String arg) {
+    cmds.add(cmd);
+    args.add(arg);
+    return this;
+  }
+
+  /**
+   * Checks if the specified command string closes the session.
+   * @param command command string
+   * @return result of check
+   */
+  private static boolean exit(final String command) {
+    final String name = command.trim().split("\\s+", 2)[0].toLowerCase(Locale.ENGLISH);
+    return name.equals(Commands.EXIT) || name.equals(Commands.QUIT);
+  }
+
+  /**
+   * Thread that writes the requests of a batch to the server.
+   */
+  private final class SendThread extends Thread {
+    /** Server commands. */
+    private final ServerCmd[] sent;
+    /** Arguments. */
+    private final String[] sargs;
+    /** Error (can be {@code null}). */
+    private IOException error;
+
+    /**
+     * Constructor.
+     * @param sent server commands
+     * @param sargs arguments
+     */
+    private SendThread(final ServerCmd[] sent, final String[] sargs) {
+      super(Util.className(ClientBatch.class));
+      this.sent = sent;
+      this.sargs = sargs;
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      try {
+        final PrintOutput sout = cs.sout;
+        final int size = sent.length;
+        sout.write(ServerCmd.BATCH.code);
+        cs.send(Integer.toString(size));
+        for(int c = 0; c < size; c++) {
+          if(sent[c] != ServerCmd.COMMAND) sout.write(sent[c].code);
+          cs.send(sargs[c]);
+        }
+        sout.flush();
+      } catch(final IOException ex) {
+        error = ex;
+      }
+    }
+
+    /**
+     * Waits until all requests have been written.
+     * @throws IOException I/O exception
+     */
+    private void finish() throws IOException {
+      try {
+        join();
+      } catch(final InterruptedException ex) {
+        throw new IOException(ex);
+      }
+      if(error != null) throw error;
+    }
+  }
+}
@@ -59,6 +59,19 @@ public class ClientQuery extends Query {
 
   @Override
   public void bind(final String name, final Object value, final String type) throws IOException {
+    cs.exec(name == null ? ServerCmd.CONTEXT : ServerCmd.BIND, bindArgs(name, value, type), null);
+  }
+
+  /**
+   * Returns the arguments for binding a value to an external variable or the context.
+   * Invalidates the cached results.
+   * @param name name of variable (if {@code null}, the context value will be bound)
+   * @param value value to be bound
+   * @param type value type (may be {@code null})
+   * @return arguments, separated by zero bytes
+   * @throws IOException I/O exception
+   */
+  String bindArgs(final String name, final Object value, final String type) throws IOException {
     cache = null;
 
     final Object vl = value instanceof BXNode ? ((BXNode) value).getNode() : value;
@@ -88,9 +101,8 @@ public class ClientQuery extends Query {
       v = value.toString();
     }
 
-    final ServerCmd cmd = name == null ? ServerCmd.CONTEXT : ServerCmd.BIND;
     final String n = name == null ? "" : name + '\0';
-    cs.exec(cmd, id + '\0' + n + v + '\0' + t, null);
+    return id + '\0' + n + v + '\0' + t;
   }
 
   @Override
@@ -2,7 +2,9 @@ package org.basex.api.client;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.io.in.*;
+import org.basex.io.serial.*;
 import org.basex.query.value.type.*;
 import org.basex.query.value.type.Type.ID;
 import org.basex.util.*;
@@ -27,8 +29,12 @@ public abstract class Query implements Closeable {
 
   /** Cached result types. */
   private ByteList types;
+  /** Decoder for results in the XDM format. */
+  private XdmDecoder decoder;
   /** Cache pointer. */
   private int pos;
+  /** Indicates if the items of the current result are decoded to Java objects. */
+  private boolean objects;
 
   /**
    * Binds a value to an external variable.
@@ -92,15 +98,43 @@ public abstract class Query implements Closeable {
    * @throws IOException I/O exception
    */
   public final String next() throws IOException {
-    if(more()) {
-      final byte[] item = cache.get(pos);
-      cache.set(pos++, null);
+    final byte[] item = item(false);
+    if(item != null) {
       if(out == null) return Token.string(item);
       out.write(item);
     }
     return null;
   }
 
+  /**
+   * Returns the next item of the query as Java object.
+   * Requires the {@link SerialMethod#XDM} serialization method (see {@link XdmDecoder}).
+   * The items of a result cannot be retrieved with both this method and {@link #next()}.
+   * @return object or {@code null}
+   * @throws IOException I/O exception
+   */
+  public final Object nextObject() throws IOException {
+    final byte[] item = item(true);
+    return item != null ? decoder.read(new ArrayInput(item)) : null;
+  }
+
+  /**
+   * Returns the next cached item.
+   * @param obj item will be decoded to a Java object
+   * @return item or {@code null}
+   * @throws IOException I/O exception
+   */
+  private byte[] item(final boolean obj) throws IOException {
+    if(!more()) return null;
+    // names are only sent once: items that have been returned as strings cannot be decoded
+    if(pos == 0) objects = obj;
+    else if(objects != obj) throw new BaseXException(
+        "Items of a result cannot be retrieved with both next() and nextObject().");
+    final byte[] item = cache.get(pos);
+    cache.set(pos++, null);
+    return item;
+  }
+
   /**
    * Returns the XQuery type of the current item (must be called after {@link #next()}.
    * @return item type
@@ -118,6 +152,7 @@ public abstract class Query implements Closeable {
   void cache(final InputStream input, final boolean full) throws IOException {
     cache = new TokenList();
     types = new ByteList();
+    decoder = new XdmDecoder();
     final ByteList bl = new ByteList();
     for(int t; (t = input.read()) > 0;) {
       // skip type information
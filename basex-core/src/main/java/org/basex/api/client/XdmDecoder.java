@@ -0,0 +1,340 @@
+package org.basex.api.client;
+
+import static org.basex.io.serial.XdmSerializer.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.io.serial.*;
+import org.basex.util.*;
+
+/**
+ * This class decodes items that have been serialized with the {@link SerialMethod#XDM} method
+ * (see {@link XdmSerializer}) to lightweight Java objects:
+ *
+ * <ul>
+ *   <li>nodes are returned as {@link Node} instances,</li>
+ *   <li>atomic values are returned as {@link Atomic} instances,</li>
+ *   <li>maps are returned as {@link LinkedHashMap} instances, with atomic keys and lists of
+ *     items as values,</li>
+ *   <li>arrays are returned as {@link ArrayList} instances, with lists of items as members,</li>
+ *   <li>function items are returned as {@link Function} instances.</li>
+ * </ul>
+ *
+ * <p>As names are only sent once, a single decoder instance must be used for all items
+ * of a query result.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class XdmDecoder {
+  /** Name table (lexical names and namespace URIs). */
+  private final ArrayList<String[]> names = new ArrayList<>();
+
+  /**
+   * Reads the next item from the specified input.
+   * @param input input stream
+   * @return item, or {@code null} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  public Object read(final InputStream input) throws IOException {
+    final int kind = input.read();
+    return kind == -1 ? null : read(kind, input);
+  }
+
+  /**
+   * Reads an item of the specified kind.
+   * @param kind kind
+   * @param input input stream
+   * @return item
+   * @throws IOException I/O exception
+   */
+  private Object read(final int kind, final InputStream input) throws IOException {
+    switch(kind) {
+      case DOC:
+        final Node doc = new Node(kind, null, null, readString(input));
+        children(doc, input);
+        return doc;
+      case ELEM:
+        final String[] name = readName(input);
+        final Node elem = new Node(kind, name[0], name[1], null);
+        children(elem, input);
+        return elem;
+      case ATTR:
+        final String[] attr = readName(input);
+        return new Node(kind, attr[0], attr[1], readString(input));
+      case TEXT:
+      case COMM:
+        return new Node(kind, null, null, readString(input));
+      case PI:
+        return new Node(kind, readName(input)[0], null, readString(input));
+      case NSP:
+        return new Node(kind, readString(input), null, readString(input));
+      case ATOMIC:
+        return readAtomic(input);
+      case MAP:
+        final int ms = readNum(input);
+        final LinkedHashMap<Object, List<Object>> map = new LinkedHashMap<>(ms);
+        for(int m = 0; m < ms; m++) map.put(next(input), readValue(input));
+        return map;
+      case ARRAY:
+        final int as = readNum(input);
+        final ArrayList<List<Object>> array = new ArrayList<>(as);
+        for(int a = 0; a < as; a++) array.add(readValue(input));
+        return array;
+      case FUNC:
+        return new Function(readString(input), readNum(input));
+      default:
+        throw new IOException("Unknown item kind: " + kind);
+    }
+  }
+
+  /**
+   * Reads the namespaces, attributes and children of a document or element.
+   * @param node parent node
+   * @param input input stream
+   * @throws IOException I/O exception
+   */
+  private void children(final Node node, final InputStream input) throws IOException {
+    for(int kind; (kind = next(input, true)) != END;) {
+      final Node child = (Node) read(kind, input);
+      (kind == NSP ? node.namespaces : kind == ATTR ? node.attributes : node.children).add(child);
+    }
+  }
+
+  /**
+   * Reads the next item, which must exist.
+   * @param input input stream
+   * @return item
+   * @throws IOException I/O exception
+   */
+  private Object next(final InputStream input) throws IOException {
+    return read(next(input, false), input);
+  }
+
+  /**
+   * Reads the next kind byte.
+   * @param input input stream
+   * @param end end marker allowed
+   * @return kind
+   * @throws IOException I/O exception
+   */
+  private static int next(final InputStream input, final boolean end) throws IOException {
+    final int kind = input.read();
+    if(kind == -1 || kind == END && !end) throw new EOFException();
+    return kind;
+  }
+
+  /**
+   * Reads a sequence of items.
+   * @param input input stream
+   * @return items
+   * @throws IOException I/O exception
+   */
+  private List<Object> readValue(final InputStream input) throws IOException {
+    final int size = readNum(input);
+    final ArrayList<Object> list = new ArrayList<>(size);
+    for(int s = 0; s < size; s++) list.add(next(input));
+    return list;
+  }
+
+  /**
+   * Reads an atomic value.
+   * @param input input stream
+   * @return atomic value
+   * @throws IOException I/O exception
+   */
+  private Atomic readAtomic(final InputStream input) throws IOException {
+    final String type = readName(input)[0];
+    final int repr = next(input, true);
+    final Object value;
+    switch(repr) {
+      case LONG:    value = readLong(input); break;
+      case DOUBLE:  value = Double.longBitsToDouble(readLong(input)); break;
+      case FLOAT:   value = Float.intBitsToFloat(readInt(input)); break;
+      case BOOLEAN: value = next(input, true) != 0; break;
+      default:      value = readString(input); break;
+    }
+    return new Atomic(type, value);
+  }
+
+  /**
+   * Reads a name.
+   * @param input input stream
+   * @return lexical name and namespace URI
+   * @throws IOException I/O exception
+   */
+  private String[] readName(final InputStream input) throws IOException {
+    final int id = readNum(input);
+    if(id != 0) return names.get(id - 1);
+    final String[] name = { readString(input), readString(input) };
+    names.add(name);
+    return name;
+  }
+
+  /**
+   * Reads a string.
+   * @param input input stream
+   * @return string
+   * @throws IOException I/O exception
+   */
+  private static String readString(final InputStream input) throws IOException {
+    final byte[] token = new byte[readNum(input)];
+    final int tl = token.length;
+    for(int t = 0; t < tl; t++) token[t] = (byte) next(input, true);
+    return Token.string(token);
+  }
+
+  /**
+   * Reads a compressed integer (see {@link org.basex.io.out.DataOutput#writeNum(int)}).
+   * @param input input stream
+   * @return integer
+   * @throws IOException I/O exception
+   */
+  private static int readNum(final InputStream input) throws IOException {
+    final int v = next(input, true);
+    switch((v & 0xC0) >>> 6) {
+      case 0:  return v;
+      case 1:  return (v & 0x3F) << 8 | next(input, true);
+      case 2:  return (v & 0x3F) << 24 | next(input, true) << 16 | next(input, true) << 8 |
+          next(input, true);
+      default: return readInt(input);
+    }
+  }
+
+  /**
+   * Reads a 32-bit integer.
+   * @param input input stream
+   * @return integer
+   * @throws IOException I/O exception
+   */
+  private static int readInt(final InputStream input) throws IOException {
+    return next(input, true) << 24 | next(input, true) << 16 | next(input, true) << 8 |
+        next(input, true);
+  }
+
+  /**
+   * Reads a 64-bit integer.
+   * @param input input stream
+   * @return integer
+   * @throws IOException I/O exception
+   */
+  private static long readLong(final InputStream input) throws IOException {
+    return (long) readInt(input) << 32 | readInt(input) & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Decoded node.
+   */
+  public static final class Node {
+    /** Node kind (see {@link XdmSerializer}). */
+    public final int kind;
+    /** Lexical name, or namespace prefix (can be {@code null}). */
+    public final String name;
+    /** Namespace URI of the name, or base URI of a document (can be {@code null}). */
+    public final String uri;
+    /** String value of attributes, texts, comments, processing instructions and namespaces. */
+    public final String value;
+    /** Namespaces declared by an element. */
+    public final ArrayList<Node> namespaces = new ArrayList<>(0);
+    /** Attributes of an element. */
+    public final ArrayList<Node> attributes = new ArrayList<>(0);
+    /** Children of an element or document. */
+    public final ArrayList<Node> children = new ArrayList<>(0);
+
+    /**
+     * Constructor.
+     * @param kind node kind
+     * @param name name (can be {@code null})
+     * @param uri URI (can be {@code null})
+     * @param value value (can be {@code null})
+     */
+    Node(final int kind, final String name, final String uri, final String value) {
+      this.kind = kind;
+      this.name = name;
+      this.uri = uri;
+      this.value = value;
+    }
+
+    /**
+     * Returns the string value of the node.
+     * @return string value
+     */
+    public String string() {
+      if(kind != DOC && kind != ELEM) return value;
+      final StringBuilder sb = new StringBuilder();
+      for(final Node child : children) {
+        if(child.kind == TEXT || child.kind == ELEM) sb.append(child.string());
+      }
+      return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+      return kind == ELEM ? '<' + name + "/>" : string();
+    }
+  }
+
+  /**
+   * Decoded atomic value.
+   */
+  public static final class Atomic {
+    /** Type (e.g. {@code xs:integer}). */
+    public final String type;
+    /** Value ({@link Long}, {@link Double}, {@link Float}, {@link Boolean} or {@link String}). */
+    public final Object value;
+
+    /**
+     * Constructor.
+     * @param type type
+     * @param value value
+     */
+    Atomic(final String type, final Object value) {
+      this.type = type;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if(this == obj) return true;
+      if(!(obj instanceof Atomic)) return false;
+      final Atomic a = (Atomic) obj;
+      return type.equals(a.type) && value.equals(a.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return value.toString();
+    }
+  }
+
+  /**
+   * Decoded function item.
+   */
+  public static final class Function {
+    /** Function name in EQName notation (empty for anonymous functions). */
+    public final String name;
+    /** Arity. */
+    public final int arity;
+
+    /**
+     * Constructor.
+     * @param name name
+     * @param arity arity
+     */
+    Function(final String name, final int arity) {
+      this.name = name;
+      this.arity = arity;
+    }
+
+    @Override
+    public String toString() {
+      return (name.isEmpty() ? "(anonymous-function)" : name) + '#' + arity;
+    }
+  }
+}
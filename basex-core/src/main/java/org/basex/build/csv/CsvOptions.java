@@ -80,10 +80,11 @@ public class CsvOptions extends Options {
   }
 
   /**
-   * Checks the separator character.
+   * Checks the assigned options. This implementation checks the separator character;
+   * it is extended by subclasses that define additional options.
    * @throws BaseXException database exception
    */
-  private void check() throws BaseXException {
+  protected void check() throws BaseXException {
     if(separator() == -1) throw new BaseXException("Invalid separator: '%'", get(SEPARATOR));
   }
 
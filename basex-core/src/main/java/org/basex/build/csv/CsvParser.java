@@ -45,7 +45,7 @@ public final class CsvParser extends SingleParser {
   protected void parse() throws IOException {
     csv = pushJob(new CsvBuilder(copts, builder));
     try {
-      csv.convert(source);
+      csv.convert(source, options.get(MainOptions.PARALLELPARSE));
     } finally {
       popJob();
     }
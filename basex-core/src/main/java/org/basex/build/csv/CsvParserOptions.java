@@ -1,5 +1,11 @@
 package org.basex.build.csv;
 
+import static org.basex.util.Token.*;
+
+import org.basex.core.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
 import org.basex.util.options.*;
 
 /**
@@ -11,6 +17,10 @@ import org.basex.util.options.*;
 public final class CsvParserOptions extends CsvOptions {
   /** Option: encoding. */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: types of the columns (comma-separated list of atomic types). */
+  public static final StringOption TYPES = new StringOption("types", "");
+  /** Option: infer types of columns. */
+  public static final BooleanOption INFER = new BooleanOption("infer", false);
 
   /**
    * Default constructor.
@@ -25,4 +35,35 @@ public final class CsvParserOptions extends CsvOptions {
   public CsvParserOptions(final CsvParserOptions opts) {
     super(opts);
   }
+
+  @Override
+  protected void check() throws BaseXException {
+    super.check();
+    types();
+  }
+
+  /**
+   * Returns the types of the columns. Types can be specified with or without {@code xs} prefix.
+   * Columns with empty entries will be returned as {@code null}.
+   * @return types (empty if no types are specified)
+   * @throws BaseXException database exception
+   */
+  public AtomType[] types() throws BaseXException {
+    final String types = get(TYPES).trim();
+    if(types.isEmpty()) return new AtomType[0];
+
+    final String[] names = types.split("\\s*,\\s*", -1);
+    final int tl = names.length;
+    final AtomType[] list = new AtomType[tl];
+    for(int t = 0; t < tl; t++) {
+      final String name = names[t].trim();
+      if(name.isEmpty()) continue;
+      final AtomType type = AtomType.find(new QNm(token(name.replaceAll("^xs:", "")),
+          QueryText.XS_URI), false);
+      if(type == null || type == AtomType.AAT || type.nsSensitive())
+        throw new BaseXException("Invalid type: '%'", name);
+      list[t] = type;
+    }
+    return list;
+  }
 }
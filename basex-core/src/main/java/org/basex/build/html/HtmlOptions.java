@@ -11,7 +11,7 @@ import org.basex.util.options.*;
 public final class HtmlOptions extends Options {
   /** TagSoup option: html. */
   public static final BooleanOption HTML = new BooleanOption("html", false);
-  /** TagSoup option: omit-xml-declaration. */
+  /** TagSoup option: omit-xml-declaration (ignored, kept for compatibility). */
   public static final BooleanOption OMIT_XML_DECLARATION =
       new BooleanOption("omit-xml-declaration", false);
   /** TagSoup option: nons. */
@@ -37,11 +37,11 @@ public final class HtmlOptions extends Options {
   /** TagSoup option: lexical. */
   public static final BooleanOption LEXICAL = new BooleanOption("lexical", false);
 
-  /** TagSoup option: method (html). */
+  /** TagSoup option: method (ignored, kept for compatibility). */
   public static final StringOption METHOD = new StringOption("method", "xml");
-  /** TagSoup option: doctype-system=systemid. */
+  /** TagSoup option: doctype-system (ignored, kept for compatibility). */
   public static final StringOption DOCTYPE_SYSTEM = new StringOption("doctype-system");
-  /** TagSoup option: doctype-public=publicid. */
+  /** TagSoup option: doctype-public (ignored, kept for compatibility). */
   public static final StringOption DOCTYPE_PUBLIC = new StringOption("doctype-public");
   /** TagSoup option: encoding=encoding. */
   public static final StringOption ENCODING = new StringOption("encoding");
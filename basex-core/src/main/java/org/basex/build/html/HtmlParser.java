@@ -3,18 +3,22 @@ package org.basex.build.html;
 import static org.basex.util.Token.*;
 
 import java.io.*;
-import java.lang.reflect.*;
 
+import org.basex.build.*;
 import org.basex.build.xml.*;
 import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.util.*;
 import org.xml.sax.*;
+import org.xml.sax.helpers.*;
 
 /**
  * This class uses TagSoup to convert HTML input to well-formed XML.
- * If TagSoup is not found in the classpath, the original document is passed on.
+ * The SAX events of TagSoup are directly passed on to the database builder.
+ * If TagSoup is not found in the classpath, or if it fails before any nodes have been created,
+ * the original document is parsed as XML. As no XML string is created anymore, the options for
+ * serializing the TagSoup output are ignored.
  *
  * TagSoup was written by John Cowan and is based on the Apache 2.0 License:
  * {@code http://home.ccil.org/~cowan/XML/tagsoup/}.
@@ -22,7 +26,7 @@ import org.xml.sax.*;
  * @author BaseX Team 2005-18, BSD License
  * @author Christian Gruen
  */
-public final class HtmlParser extends XMLParser {
+public final class HtmlParser extends SingleParser {
   /** Name of HTML Parser. */
   private static final String NAME = "TagSoup";
   /** TagSoup URL. */
@@ -30,15 +34,11 @@ public final class HtmlParser extends XMLParser {
 
   /** XML parser class string. */
   private static final String PCLASS = "org.ccil.cowan.tagsoup.Parser";
-  /** XML writer class string. */
-  private static final String WCLASS = "org.ccil.cowan.tagsoup.XMLWriter";
   /** HTML reader. */
   private static final Class<?> READER = Reflect.find(PCLASS);
-  /** HTML writer. */
-  private static final Constructor<?> WRITER = Reflect.find(Reflect.find(WCLASS), Writer.class);
-  /** XML writer output property method. */
-  private static final Method METHOD = Reflect.method(
-    Reflect.find(WCLASS), "setOutputProperty", String.class, String.class);
+
+  /** HTML options. */
+  private final HtmlOptions hopts;
 
   /**
    * Checks if a CatalogResolver is available.
@@ -60,9 +60,8 @@ public final class HtmlParser extends XMLParser {
    * Constructor.
    * @param source document source
    * @param opts database options
-   * @throws IOException I/O exception
    */
-  public HtmlParser(final IO source, final MainOptions opts) throws IOException {
+  public HtmlParser(final IO source, final MainOptions opts) {
     this(source, opts, opts.get(MainOptions.HTMLPARSER));
   }
 
@@ -71,25 +70,23 @@ public final class HtmlParser extends XMLParser {
    * @param source document source
    * @param opts database options
    * @param hopts html options
-   * @throws IOException I/O exception
    */
-  public HtmlParser(final IO source, final MainOptions opts, final HtmlOptions hopts)
-      throws IOException {
-    super(toXML(source, hopts), opts);
+  public HtmlParser(final IO source, final MainOptions opts, final HtmlOptions hopts) {
+    super(source, opts);
+    this.hopts = hopts;
   }
 
-  /**
-   * Converts an HTML document to XML.
-   * @param io io reference
-   * @param opts html options
-   * @return parser
-   * @throws IOException I/O exception
-   */
-  private static IO toXML(final IO io, final HtmlOptions opts) throws IOException {
+  @Override
+  protected void parse() throws IOException {
     // reader could not be initialized; fall back to XML
-    if(READER == null) return io;
+    if(READER == null) {
+      parse(new XMLParser(source, options));
+      return;
+    }
 
-    try(TextInput ti = new TextInput(io)) {
+    final HtmlHandler handler = new HtmlHandler(builder, options.get(MainOptions.CHOP),
+        options.get(MainOptions.STRIPNS));
+    try(TextInput ti = new TextInput(source)) {
       // tries to extract the encoding from the input
       String enc = ti.encoding();
       final byte[] content = ti.content();
@@ -110,67 +107,128 @@ public final class HtmlParser extends XMLParser {
       final InputSource is = new InputSource(new ArrayInput(content));
       is.setEncoding(Strings.supported(enc) ? Strings.normEncoding(enc) : Strings.UTF8);
       // define output
-      final StringWriter sw = new StringWriter();
       final XMLReader reader = (XMLReader) Reflect.get(READER);
-      final Object writer = Reflect.get(WRITER, sw);
 
       // set TagSoup options
-      if(opts.get(HtmlOptions.HTML)) {
-        reader.setFeature("http://xml.org/sax/features/namespaces", false);
-        opt(writer, HtmlOptions.METHOD.name(), "html");
-        opt(writer, HtmlOptions.OMIT_XML_DECLARATION.name(), "yes");
-      }
-      if(opts.get(HtmlOptions.NONS))
+      if(hopts.get(HtmlOptions.HTML) || hopts.get(HtmlOptions.NONS))
         reader.setFeature("http://xml.org/sax/features/namespaces", false);
-      if(opts.get(HtmlOptions.OMIT_XML_DECLARATION))
-        opt(writer, HtmlOptions.OMIT_XML_DECLARATION.name(), "yes");
-      if(opts.get(HtmlOptions.NOBOGONS))
+      if(hopts.get(HtmlOptions.NOBOGONS))
         reader.setFeature(FEATURES + "ignore-bogons", true);
-      if(opts.get(HtmlOptions.NODEFAULTS))
+      if(hopts.get(HtmlOptions.NODEFAULTS))
         reader.setFeature(FEATURES + "default-attributes", false);
-      if(opts.get(HtmlOptions.NOCOLONS))
+      if(hopts.get(HtmlOptions.NOCOLONS))
         reader.setFeature(FEATURES + "translate-colons", true);
-      if(opts.get(HtmlOptions.NORESTART))
+      if(hopts.get(HtmlOptions.NORESTART))
         reader.setFeature(FEATURES + "restart-elements", false);
-      if(opts.get(HtmlOptions.IGNORABLE))
+      if(hopts.get(HtmlOptions.IGNORABLE))
         reader.setFeature(FEATURES + "ignorable-whitespace", true);
-      if(opts.get(HtmlOptions.EMPTYBOGONS))
+      if(hopts.get(HtmlOptions.EMPTYBOGONS))
         reader.setFeature(FEATURES + "bogons-empty", true);
-      if(opts.get(HtmlOptions.ANY))
+      if(hopts.get(HtmlOptions.ANY))
         reader.setFeature(FEATURES + "bogons-empty", false);
-      if(opts.get(HtmlOptions.NOROOTBOGONS))
+      if(hopts.get(HtmlOptions.NOROOTBOGONS))
         reader.setFeature(FEATURES + "root-bogons", false);
-      if(opts.get(HtmlOptions.NOCDATA))
+      if(hopts.get(HtmlOptions.NOCDATA))
         reader.setFeature(FEATURES + "cdata-elements", false);
-      if(opts.get(HtmlOptions.LEXICAL))
-        reader.setProperty("http://xml.org/sax/properties/lexical-handler", writer);
-      if(opts.contains(HtmlOptions.METHOD))
-        opt(writer, HtmlOptions.METHOD.name(), opts.get(HtmlOptions.METHOD));
-      if(opts.contains(HtmlOptions.DOCTYPE_SYSTEM))
-        opt(writer, HtmlOptions.DOCTYPE_SYSTEM.name(), opts.get(HtmlOptions.DOCTYPE_SYSTEM));
-      if(opts.contains(HtmlOptions.DOCTYPE_PUBLIC))
-        opt(writer, HtmlOptions.DOCTYPE_PUBLIC.name(), opts.get(HtmlOptions.DOCTYPE_PUBLIC));
-      if(opts.contains(HtmlOptions.ENCODING))
-        is.setEncoding(opts.get(HtmlOptions.ENCODING));
+      if(hopts.get(HtmlOptions.LEXICAL))
+        reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+      if(hopts.contains(HtmlOptions.ENCODING))
+        is.setEncoding(hopts.get(HtmlOptions.ENCODING));
       // end TagSoup options
 
-      reader.setContentHandler((ContentHandler) writer);
+      reader.setContentHandler(handler);
       reader.parse(is);
-      return new IOContent(token(sw.toString()), io.name());
-
     } catch(final SAXException ex) {
+      // nodes have already been passed on: no fallback possible
+      if(handler.started) throw new IOException('"' + source.path() + '"' + Util.message(ex), ex);
+      // otherwise, parse input as XML
       Util.errln(ex);
-      return io;
+      parse(new XMLParser(source, options));
     }
   }
 
   /**
-   * Reflection invoke XMLWriter.setOutputProperty().
-   * @param writer writer instance
-   * @param name property
-   * @param value value
+   * SAX handler for TagSoup events. TagSoup reports the prefix mappings of its schema at the
+   * beginning of the document, and no mappings for the namespaces of its elements. Instead,
+   * this handler declares the namespaces of the element and attribute names that are used.
+   * Prefixes of names without namespace are removed.
    */
-  private static void opt(final Object writer, final String name, final String value) {
-    Reflect.invoke(METHOD, writer, name, value);
+  private static final class HtmlHandler extends SAXHandler {
+    /** Namespaces in scope. */
+    private final NamespaceSupport ns = new NamespaceSupport();
+    /** Indicates if nodes have been passed on to the builder. */
+    private boolean started;
+
+    /**
+     * Constructor.
+     * @param builder builder reference
+     * @param chop chopping flag
+     * @param stripNS strip namespaces
+     */
+    HtmlHandler(final Builder builder, final boolean chop, final boolean stripNS) {
+      super(builder, chop, stripNS);
+    }
+
+    @Override
+    public void startPrefixMapping(final String prefix, final String uri) {
+      // ignored: namespaces are declared for the names that are used
+    }
+
+    @Override
+    public void startElement(final String uri, final String local, final String name,
+        final Attributes attr) throws SAXException {
+      ns.pushContext();
+      final String en = name(name, uri);
+      AttributesImpl atts = null;
+      final int as = attr.getLength();
+      for(int a = 0; a < as; a++) {
+        final String qn = attr.getQName(a), an = name(qn, attr.getURI(a));
+        if(!an.equals(qn)) {
+          if(atts == null) atts = new AttributesImpl(attr);
+          atts.setQName(a, an);
+        }
+      }
+      started = true;
+      super.startElement(uri, local, en, atts != null ? atts : attr);
+    }
+
+    @Override
+    public void processingInstruction(final String name, final String content)
+        throws SAXException {
+      started = true;
+      super.processingInstruction(name, content);
+    }
+
+    @Override
+    public void comment(final char[] chars, final int start, final int length)
+        throws SAXException {
+      started = true;
+      super.comment(chars, start, length);
+    }
+
+    @Override
+    public void endElement(final String uri, final String local, final String name)
+        throws SAXException {
+      super.endElement(uri, local, name);
+      ns.popContext();
+    }
+
+    /**
+     * Returns the name to be used for a node, and declares its namespace if it is not in scope.
+     * @param name name
+     * @param uri namespace uri
+     * @return name (local name if the namespace uri is empty)
+     */
+    private String name(final String name, final String uri) {
+      final int i = name.indexOf(':');
+      if(uri.isEmpty()) return i == -1 ? name : name.substring(i + 1);
+
+      final String prefix = i == -1 ? "" : name.substring(0, i);
+      if(!prefix.equals("xml") && !uri.equals(ns.getURI(prefix))) {
+        ns.declarePrefix(prefix, uri);
+        super.startPrefixMapping(prefix, uri);
+      }
+      return name;
+    }
   }
 }
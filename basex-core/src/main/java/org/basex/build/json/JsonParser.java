@@ -1,11 +1,18 @@
 package org.basex.build.json;
 
+import static org.basex.util.Token.*;
+
 import java.io.*;
 
-import org.basex.build.xml.*;
+import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.parse.json.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
 
 /**
  * This class parses files in the JSON format
@@ -14,17 +21,23 @@ import org.basex.io.parse.json.*;
  * <p>The parser provides some options, which can be specified via the
  * {@link MainOptions#JSONPARSER} option.</p>
  *
+ * <p>If possible, the parse events are directly passed on to the database builder
+ * (see {@link JsonBuilder}). Otherwise, the JSON input is converted to a node tree,
+ * which is then passed on to the builder.</p>
+ *
  * @author BaseX Team 2005-18, BSD License
  * @author Christian Gruen
  */
-public final class JsonParser extends XMLParser {
+public final class JsonParser extends SingleParser {
+  /** JSON Parser options. */
+  private final JsonParserOptions jopts;
+
   /**
    * Constructor.
    * @param source document source
    * @param opts database options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts) throws IOException {
+  public JsonParser(final IO source, final MainOptions opts) {
     this(source, opts, opts.get(MainOptions.JSONPARSER));
   }
 
@@ -33,24 +46,55 @@ public final class JsonParser extends XMLParser {
    * @param source document source
    * @param opts database options
    * @param jopts parser options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts)
-      throws IOException {
-    super(toXML(source, jopts), opts);
+  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts) {
+    super(source, opts);
+    this.jopts = jopts;
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    if(JsonBuilder.supports(jopts)) {
+      final JsonBuilder jb = new JsonBuilder(jopts, options, builder);
+      jb.convert(source);
+      jb.close();
+    } else {
+      final Item item = JsonConverter.get(jopts).convert(source);
+      if(!(item instanceof ANode)) throw new BuildException("JSON format not supported: %",
+          jopts.get(JsonOptions.FORMAT));
+      add((ANode) item, options.get(MainOptions.CHOP), options.get(MainOptions.STRIPNS));
+    }
   }
 
   /**
-   * Converts a JSON document to XML.
-   * @param io input
-   * @param options parser options
-   * @return parser
+   * Passes on a node and its descendants to the builder.
+   * @param node node
+   * @param chop chop whitespaces
+   * @param strip strip namespaces
    * @throws IOException I/O exception
    */
-  private static IOContent toXML(final IO io, final JsonParserOptions options) throws IOException {
-    final JsonConverter conv = JsonConverter.get(options);
-    final IOContent xml = new IOContent(conv.convert(io).serialize().finish());
-    xml.name(io.name());
-    return xml;
+  private void add(final ANode node, final boolean chop, final boolean strip)
+      throws IOException {
+    final Type type = node.type;
+    if(type == NodeType.DOC) {
+      for(final ANode child : node.children()) add(child, chop, strip);
+    } else if(type == NodeType.ELM) {
+      final Atts atts = new Atts();
+      for(final ANode attr : node.attributes()) {
+        atts.add(strip ? local(attr.name()) : attr.name(), attr.string());
+      }
+      final Atts nsp = new Atts();
+      if(!strip) {
+        final Atts ns = node.namespaces();
+        final int nl = ns.size();
+        for(int n = 0; n < nl; n++) nsp.add(ns.name(n), ns.value(n));
+      }
+      builder.openElem(strip ? local(node.name()) : node.name(), atts, nsp);
+      for(final ANode child : node.children()) add(child, chop, strip);
+      builder.closeElem();
+    } else if(type == NodeType.TXT) {
+      final byte[] text = node.string();
+      builder.text(chop ? trim(text) : text);
+    }
   }
 }
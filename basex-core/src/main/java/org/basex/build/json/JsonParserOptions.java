@@ -24,6 +24,8 @@ public final class JsonParserOptions extends JsonOptions {
   public static final BooleanOption VALIDATE = new BooleanOption("validate", false);
   /** Option: encoding (custom). */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: return members of top-level array (custom, json:parse-stream). */
+  public static final BooleanOption MEMBERS = new BooleanOption("members", false);
 
   /** Duplicate handling. */
   public enum JsonDuplicates {
@@ -70,7 +70,13 @@ public class SAXHandler extends DefaultHandler implements LexicalHandler {
       for(int a = 0; a < as; ++a) {
         final byte[] an = token(attr.getQName(a));
         final byte[] av = token(attr.getValue(a));
-        atts.add(stripNS ? local(an) : an, av);
+        if(eq(an, XMLNS) || startsWith(an, XMLNSC)) {
+          // namespace declarations (reported by some sources in addition to prefix mappings)
+          final byte[] prefix = an.length == XMLNS.length ? EMPTY : local(an);
+          if(!stripNS && nsp.get(prefix) == -1) nsp.add(prefix, av);
+        } else {
+          atts.add(stripNS ? local(an) : an, av);
+        }
       }
       final byte[] en = token(name);
       builder.openElem(stripNS ? local(en) : en, atts, nsp);
@@ -167,6 +173,16 @@ public class SAXHandler extends DefaultHandler implements LexicalHandler {
   // ContentHandler
   /*public void setDocumentLocator(final Locator locator) { } */
 
+  @Override
+  public void endDocument() throws SAXException {
+    // add top-level text (e.g. the result of a transformation with the text output method)
+    try {
+      finishText();
+    } catch(final IOException ex) {
+      error(ex);
+    }
+  }
+
   @Override
   public void startPrefixMapping(final String prefix, final String uri) {
     if(!stripNS) nsp.add(token(prefix), token(uri));
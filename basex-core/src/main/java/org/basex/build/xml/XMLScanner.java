@@ -8,6 +8,7 @@ import static org.basex.util.XMLToken.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.basex.build.*;
 import org.basex.core.*;
@@ -33,6 +34,14 @@ final class XMLScanner extends Job {
   private static final byte[] QUESTION = { '?' };
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
+  /** Maximum number of tokens per batch (asynchronous scanning). */
+  private static final int BATCH = 1 << 12;
+  /** Maximum number of queued batches (asynchronous scanning). */
+  private static final int BATCHES = 4;
+  /** ASCII characters that need to be processed individually in text content. */
+  private static final boolean[] TEXTSTOP = stop("<&]");
+  /** ASCII characters that need to be processed individually in attribute values. */
+  private static final boolean[] ATTSTOP = stop("<&'\"\n");
 
   /** Scanning states. */
   private enum Scan {
@@ -69,6 +78,15 @@ final class XMLScanner extends Job {
   /** XML input. */
   private XMLInput input;
 
+  /** Scanner thread (only assigned if tokens are scanned asynchronously). */
+  private ScanThread thread;
+  /** Current batch of asynchronously scanned tokens. */
+  private Batch batch;
+  /** Position of the next token in the current batch. */
+  private int bpos;
+  /** Line of the current asynchronously scanned token. */
+  private int line;
+
   /**
    * Initializes the scanner.
    * @param file input file
@@ -77,7 +95,27 @@ final class XMLScanner extends Job {
    * @throws IOException I/O exception
    */
   XMLScanner(final IO file, final MainOptions opts, final boolean fragment) throws IOException {
+    this(file, opts, fragment, !fragment && opts.get(MainOptions.PARALLELPARSE));
+  }
+
+  /**
+   * Initializes the scanner.
+   * @param file input file
+   * @param opts database options
+   * @param fragment allow parsing of document fragment
+   * @param async scan tokens in a separate thread
+   * @throws IOException I/O exception
+   */
+  private XMLScanner(final IO file, final MainOptions opts, final boolean fragment,
+      final boolean async) throws IOException {
     this.fragment = fragment;
+    if(async) {
+      // tokens will be returned by a second scanner instance
+      thread = new ScanThread(new XMLScanner(file, opts, fragment, false));
+      dtd = false;
+      return;
+    }
+
     input = new XMLInput(file);
 
     try {
@@ -120,11 +158,52 @@ final class XMLScanner extends Job {
   }
 
   /**
-   * Reads and interprets the next token from the input stream.
+   * Returns a table with ASCII characters that stop the bulk copying of characters.
+   * Control characters, carriage returns and parameter entity references are always included.
+   * @param chars stop characters
+   * @return table
+   */
+  private static boolean[] stop(final String chars) {
+    final boolean[] stop = new boolean[0x80];
+    for(int c = 0; c < 0x20; c++) stop[c] = c != '\t' && c != '\n';
+    stop['%'] = true;
+    for(final char c : chars.toCharArray()) stop[c] = true;
+    return stop;
+  }
+
+  /**
+   * Returns the next token, which is either scanned or taken from the scanner thread.
    * @return true if the document scanning has been completed
    * @throws IOException I/O exception
    */
   boolean more() throws IOException {
+    if(thread == null) return scan();
+
+    if(batch == null) thread.start();
+    if(batch == null || bpos == batch.size) {
+      batch = thread.next();
+      bpos = 0;
+    }
+    final Batch b = batch;
+    final int p = bpos++;
+    if(p == b.size - 1 && b.error != null) {
+      // rethrow error of scanner thread
+      if(b.error instanceof IOException) throw (IOException) b.error;
+      throw (RuntimeException) b.error;
+    }
+    type = b.types[p];
+    line = b.lines[p];
+    token.reset();
+    token.add(b.tokens[p]);
+    return b.more[p];
+  }
+
+  /**
+   * Reads and interprets the next token from the input stream.
+   * @return true if the document scanning has been completed
+   * @throws IOException I/O exception
+   */
+  private boolean scan() throws IOException {
     // gets next character from the input stream
     token.reset();
     final int ch = consume();
@@ -148,6 +227,11 @@ final class XMLScanner extends Job {
    * @throws IOException I/O exception
    */
   void close() throws IOException {
+    if(thread != null) {
+      thread.finish();
+      thread.scanner.close();
+      return;
+    }
     input.close();
     if(!fragment && prolog) throw error(DOCEMPTY);
   }
@@ -280,6 +364,7 @@ final class XMLScanner extends Job {
         else if(!input.add(r, false)) throw error(RECENT);
       } else {
         token.add(c);
+        input.copy(token, ATTSTOP);
       }
     } while((c = consume()) != quote);
   }
@@ -316,8 +401,9 @@ final class XMLScanner extends Job {
             }
             prev(1);
           }
-          // add character to cached content
+          // add character and subsequent characters without markup to cached content
           token.add(c);
+          input.copy(token, TEXTSTOP);
         }
       }
       c = consume();
@@ -1010,6 +1096,10 @@ final class XMLScanner extends Job {
 
   @Override
   public String detailedInfo() {
+    if(thread != null) {
+      final String path = thread.scanner.input.io().path();
+      return path.isEmpty() ? Util.info(LINE_X, line) : Util.info(SCANPOS_X_X, path, line);
+    }
     final String path = input.io().path();
     return path.isEmpty() ? Util.info(LINE_X, input.line()) :
         Util.info(SCANPOS_X_X, input.io().path(), input.line());
@@ -1017,7 +1107,122 @@ final class XMLScanner extends Job {
 
   @Override
   public double progressInfo() {
+    if(thread != null) return thread.scanner.progressInfo();
     final double l = input.length();
     return l <= 0 ? 0 : input.pos() / l;
   }
+
+  /**
+   * Batch of scanned tokens.
+   */
+  private static final class Batch {
+    /** Token types. */
+    private final Type[] types = new Type[BATCH];
+    /** Tokens. */
+    private final byte[][] tokens = new byte[BATCH][];
+    /** Lines of the tokens. */
+    private final int[] lines = new int[BATCH];
+    /** Results of the scanner steps. */
+    private final boolean[] more = new boolean[BATCH];
+    /** Number of tokens. */
+    private int size;
+    /** Error that occurred after the last token (can be {@code null}). */
+    private Exception error;
+
+    /**
+     * Adds a token.
+     * @param type token type
+     * @param token token
+     * @param line line
+     * @param more result of scanner step
+     */
+    private void add(final Type type, final byte[] token, final int line, final boolean more) {
+      types[size] = type;
+      tokens[size] = token;
+      lines[size] = line;
+      this.more[size++] = more;
+    }
+  }
+
+  /**
+   * Thread that scans the input and passes on batches of tokens to the parser.
+   */
+  private static final class ScanThread extends Thread {
+    /** Scanner. */
+    private final XMLScanner scanner;
+    /** Scanned batches. */
+    private final ArrayBlockingQueue<Batch> queue = new ArrayBlockingQueue<>(BATCHES);
+    /** Stop flag. */
+    private volatile boolean stopped;
+
+    /**
+     * Constructor.
+     * @param scanner scanner
+     */
+    private ScanThread(final XMLScanner scanner) {
+      super(Util.className(XMLScanner.class));
+      this.scanner = scanner;
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      final XMLScanner sc = scanner;
+      Batch b = new Batch();
+      try {
+        boolean more;
+        do {
+          more = sc.scan();
+          b.add(sc.type, sc.token.toArray(), sc.input.line(), more);
+          if(b.size == BATCH || !more) {
+            put(b);
+            b = new Batch();
+          }
+        } while(more && !stopped);
+      } catch(final IOException | RuntimeException ex) {
+        // pass on error as last entry of the batch
+        b.add(Type.EOF, EMPTY, sc.input.line(), false);
+        b.error = ex;
+        put(b);
+      }
+    }
+
+    /**
+     * Returns the next batch.
+     * @return batch
+     * @throws IOException I/O exception
+     */
+    private Batch next() throws IOException {
+      try {
+        return queue.take();
+      } catch(final InterruptedException ex) {
+        throw new IOException(ex);
+      }
+    }
+
+    /**
+     * Adds a batch to the queue. Waits until space is available or the thread is stopped.
+     * @param b batch
+     */
+    private void put(final Batch b) {
+      try {
+        while(!stopped && !queue.offer(b, 100, TimeUnit.MILLISECONDS));
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+
+    /**
+     * Stops the thread and waits until it has terminated.
+     */
+    private void finish() {
+      stopped = true;
+      queue.clear();
+      try {
+        join();
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
 }
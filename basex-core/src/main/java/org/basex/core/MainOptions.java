@@ -57,6 +57,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption CHOP = new BooleanOption("CHOP", true);
   /** Use internal XML parser. */
   public static final BooleanOption INTPARSE = new BooleanOption("INTPARSE", false);
+  /** Scan documents in a separate thread (internal XML parser, CSV parser). */
+  public static final BooleanOption PARALLELPARSE = new BooleanOption("PARALLELPARSE", false);
   /** Strips namespaces. */
   public static final BooleanOption STRIPNS = new BooleanOption("STRIPNS", false);
   /** Flag for parsing DTDs. */
@@ -174,7 +176,8 @@ public final class MainOptions extends Options {
   // Other
 
   /** Options that are adopted from parent options. */
-  private static final Option<?>[] INHERIT = { CHOP, INTPARSE, STRIPNS, DTD, XINCLUDE, CATFILE };
+  private static final Option<?>[] INHERIT = { CHOP, INTPARSE, PARALLELPARSE, STRIPNS, DTD,
+    XINCLUDE, CATFILE };
 
   /** Parser. */
   public enum MainParser {
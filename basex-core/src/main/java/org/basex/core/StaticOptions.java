@@ -55,6 +55,13 @@ public final class StaticOptions extends Options {
   public static final NumberOption PROXYPORT = new NumberOption("PROXYPORT", 0);
   /** Server: non-proxy host. */
   public static final StringOption NONPROXYHOSTS = new StringOption("NONPROXYHOSTS", "");
+  /**
+   * Maximum number of idle HTTP client connections kept alive per host (default: ignored).
+   * The value is assigned to the {@code http.maxConnections} system property unless it has
+   * already been set. It is read by the JVM when the first HTTP connection is opened, so it will
+   * be ignored if connections have been opened before the first database context was created.
+   */
+  public static final NumberOption HTTPCONNECTIONS = new NumberOption("HTTPCONNECTIONS", 0);
   /** Ignore missing certificates. */
   public static final BooleanOption IGNORECERT = new BooleanOption("IGNORECERT", false);
   /** Ignore verification of hostname in certificates. */
@@ -70,6 +77,12 @@ public final class StaticOptions extends Options {
   public static final BooleanOption LOG = new BooleanOption("LOG", true);
   /** Log message cut-off. */
   public static final NumberOption LOGMSGMAXLEN = new NumberOption("LOGMSGMAXLEN", 1000);
+  /** Size of the buffer for asynchronous logging; deactivated if set to 0. */
+  public static final NumberOption LOGBUFFER = new NumberOption("LOGBUFFER", 0);
+  /** Interval (ms) for writing buffered log entries to disk. */
+  public static final NumberOption LOGFLUSH = new NumberOption("LOGFLUSH", 1000);
+  /** Drop log entries if the log buffer is full (instead of blocking). */
+  public static final BooleanOption LOGDROP = new BooleanOption("LOGDROP", false);
 
   /** Comment: written to options file. */
   public static final Comment C_HTTP = new Comment("HTTP Services");
@@ -86,6 +99,10 @@ public final class StaticOptions extends Options {
   public static final BooleanOption HTTPLOCAL = new BooleanOption("HTTPLOCAL", false);
   /** Port for stopping the web server. */
   public static final NumberOption STOPPORT = new NumberOption("STOPPORT", 8985);
+  /** Maximum number of pending outgoing messages per WebSocket client. */
+  public static final NumberOption WSQUEUE = new NumberOption("WSQUEUE", 1000);
+  /** Maximum size of the cache for serialized documents (KB, 0: disabled). */
+  public static final NumberOption HTTPCACHE = new NumberOption("HTTPCACHE", 0);
   /** Default authentication method. */
   public static final EnumOption<AuthMethod> AUTHMETHOD =
       new EnumOption<>("AUTHMETHOD", AuthMethod.BASIC);
@@ -129,6 +146,8 @@ public final class StaticOptions extends Options {
     if(!nph.isEmpty()) {
       Prop.setSystem("http.nonProxyHosts", nph);
     }
+    final int hc = get(HTTPCONNECTIONS);
+    if(hc > 0) Prop.setSystem("http.maxConnections", Integer.toString(hc));
     if(get(IGNORECERT)) IOUrl.ignoreCert();
     if(get(IGNOREHOSTNAME)) IOUrl.ignoreHostname();
   }
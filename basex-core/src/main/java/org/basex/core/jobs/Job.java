@@ -25,7 +25,7 @@ public abstract class Job {
   /** State of job. */
   public JobState state = JobState.SCHEDULED;
   /** Stopped flag. */
-  private boolean stopped;
+  private volatile boolean stopped;
 
   /**
    * Returns the job context.
@@ -77,6 +77,8 @@ public abstract class Job {
   public final <J extends Job> J pushJob(final J job) {
     children.add(job);
     job.jobContext(jc);
+    // adopt state if the job has already been stopped
+    if(stopped) job.state(state);
     return job;
   }
 
@@ -87,6 +89,14 @@ public abstract class Job {
     children.remove(children.size() - 1);
   }
 
+  /**
+   * Removes the specified child job. Called by jobs that may run in parallel.
+   * @param job child job
+   */
+  public final void popJob(final Job job) {
+    children.remove(job);
+  }
+
   /**
    * Stops a job or sub job.
    */
@@ -128,7 +138,9 @@ public abstract class Job {
    * @param js new state
    */
   public void state(final JobState js) {
-    for(final Job job : children) job.state(js);
+    synchronized(children) {
+      for(final Job job : children) job.state(js);
+    }
     state = js;
     if(js == JobState.STOPPED || js == JobState.TIMEOUT || js == JobState.MEMORY) {
       stopped = true;
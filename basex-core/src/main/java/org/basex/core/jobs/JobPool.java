@@ -26,6 +26,10 @@ public final class JobPool {
   final Timer timer = new Timer(true);
   /** Timeout (ms). */
   private final long timeout;
+  /** Maximum number of threads for parallel query evaluation. */
+  private final int parallel;
+  /** Pool for parallel query evaluation (lazily instantiated). */
+  private ForkJoinPool forkJoin;
 
   /**
    * Constructor.
@@ -33,6 +37,17 @@ public final class JobPool {
    */
   public JobPool(final StaticOptions sopts) {
     timeout = sopts.get(StaticOptions.CACHETIMEOUT) * 1000L;
+    parallel = Math.max(sopts.get(StaticOptions.PARALLEL), 1);
+  }
+
+  /**
+   * Returns the pool for parallel query evaluation, which is shared by all jobs.
+   * Its parallelism is limited by {@link StaticOptions#PARALLEL}.
+   * @return pool
+   */
+  public synchronized ForkJoinPool forkJoin() {
+    if(forkJoin == null) forkJoin = new ForkJoinPool(parallel);
+    return forkJoin;
   }
 
   /**
@@ -60,6 +75,7 @@ public final class JobPool {
     timer.cancel();
     for(final Job job : active.values()) job.stop();
     while(!active.isEmpty()) Performance.sleep(1);
+    if(forkJoin != null) forkJoin.shutdown();
   }
 
   /**
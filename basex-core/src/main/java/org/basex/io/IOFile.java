@@ -1,6 +1,7 @@
 package org.basex.io;
 
 import java.io.*;
+import java.nio.channels.*;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
@@ -279,6 +280,26 @@ public final class IOFile extends IO {
     }
   }
 
+  /**
+   * Writes the contents of the file to the specified output stream. The contents are not read
+   * into main memory: they are transferred directly by the operating system if the target is
+   * a file output stream, and in chunks otherwise.
+   * @param os output stream (will not be closed)
+   * @throws IOException I/O exception
+   */
+  public void transferTo(final OutputStream os) throws IOException {
+    try(FileChannel fc = FileChannel.open(toPath(), StandardOpenOption.READ)) {
+      final WritableByteChannel wbc = Channels.newChannel(os);
+      final long size = fc.size();
+      for(long p = 0; p < size;) {
+        final long t = fc.transferTo(p, size - p, wbc);
+        // stop if the file has been truncated in the meantime
+        if(t == 0 && p >= fc.size()) break;
+        p += t;
+      }
+    }
+  }
+
   /**
    * Deletes the file, or the directory and its children.
    * @return {@code true} if the file does not exist or has been deleted.
@@ -65,6 +65,42 @@ public final class NewlineInput extends TextInput {
     return '\n';
   }
 
+  /**
+   * Copies characters from the internal buffer to the specified token builder until a stop
+   * character or the end of the input is reached. The stop character will not be consumed.
+   * Nothing is copied if the input is not UTF-8 encoded.
+   * @param tb token builder
+   * @param stop ASCII characters that stop copying
+   * @return number of copied newlines
+   * @throws IOException I/O exception
+   */
+  int copy(final TokenBuilder tb, final boolean[] stop) throws IOException {
+    if(next != -2 || encoding() != Strings.UTF8) return 0;
+    int nl = 0;
+    while(true) {
+      if(bpos >= bsize) {
+        // refill buffer and step back
+        if(readByte() == -1) return nl;
+        bpos--;
+      }
+      final byte[] arr = array;
+      final int size = bsize;
+      final int start = bpos;
+      int p = start;
+      for(byte b; p < size && (b = arr[p]) >= 0 && !stop[b]; p++) {
+        if(b == '\n') nl++;
+      }
+      tb.add(arr, start, p);
+      bpos = p;
+      if(p < size) {
+        // stop character found
+        if(arr[p] >= 0) return nl;
+        // decode non-ASCII character
+        tb.add(super.read());
+      }
+    }
+  }
+
   /**
    * Reads and returns a single line.
    * @return line or {@code null}
@@ -72,6 +72,18 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Copies a run of characters to the specified token builder until a stop character is
+   * reached. The stop character will not be consumed. Characters will only be copied if the
+   * main input is UTF-8 encoded and if no characters have been pushed back.
+   * @param tb token builder
+   * @param stop ASCII characters that stop copying
+   * @throws IOException I/O exception
+   */
+  public void copy(final TokenBuilder tb, final boolean[] stop) throws IOException {
+    if(pp == 0 && ip == 0) line += inputs[0].copy(tb, stop);
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param value values to insert
@@ -63,6 +63,13 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    final long l = Math.min(len, max - size);
+    if(l > 0) os.write(b, off, (int) l);
+    size += len;
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
@@ -92,8 +99,19 @@ public class PrintOutput extends OutputStream {
    * @throws IOException I/O exception
    */
   public void print(final byte[] token) throws IOException {
-    final int tl = token.length;
-    for(int t = 0; t < tl; t += cl(token, t)) print(cp(token, t));
+    print(token, 0, token.length);
+  }
+
+  /**
+   * Prints a part of a token to the output stream.
+   * As the token is UTF-8 encoded, its bytes are written in a single chunk.
+   * @param token token to be written
+   * @param start start position
+   * @param end end position
+   * @throws IOException I/O exception
+   */
+  public void print(final byte[] token, final int start, final int end) throws IOException {
+    write(token, start, end - start);
   }
 
   /**
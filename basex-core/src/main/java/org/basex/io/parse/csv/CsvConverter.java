@@ -6,6 +6,7 @@ import java.io.*;
 
 import org.basex.build.csv.*;
 import org.basex.build.csv.CsvOptions.*;
+import org.basex.core.*;
 import org.basex.core.jobs.*;
 import org.basex.io.*;
 import org.basex.io.in.*;
@@ -58,9 +59,20 @@ public abstract class CsvConverter extends Job {
    * @throws IOException I/O exception
    */
   public final Item convert(final IO input) throws IOException {
+    return convert(input, false);
+  }
+
+  /**
+   * Converts the specified input to XML.
+   * @param input input
+   * @param async parse input in a separate thread
+   * @return result
+   * @throws IOException I/O exception
+   */
+  public final Item convert(final IO input, final boolean async) throws IOException {
     try(NewlineInput in = new NewlineInput(input)) {
       nli = in;
-      CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+      CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this, async);
     }
     return finish();
   }
@@ -69,8 +81,9 @@ public abstract class CsvConverter extends Job {
    * Returns a CSV converter for the given configuration.
    * @param copts options
    * @return CSV converter
+   * @throws BaseXException database exception
    */
-  public static CsvConverter get(final CsvParserOptions copts) {
+  public static CsvConverter get(final CsvParserOptions copts) throws BaseXException {
     switch(copts.get(CsvOptions.FORMAT)) {
       case XQUERY: return new CsvXQueryConverter(copts);
       default:     return new CsvDirectConverter(copts);
@@ -1,9 +1,13 @@
 package org.basex.io.parse.csv;
 
 import java.io.*;
+import java.util.concurrent.*;
 
 import org.basex.build.csv.*;
+import org.basex.core.*;
+import org.basex.core.jobs.*;
 import org.basex.io.in.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -13,6 +17,17 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 final class CsvParser {
+  /** Maximum number of events per batch (asynchronous parsing). */
+  private static final int BATCH = 1 << 12;
+  /** Maximum number of queued batches (asynchronous parsing). */
+  private static final int BATCHES = 4;
+  /** Event: header. */
+  private static final byte HDR = 0;
+  /** Event: record. */
+  private static final byte REC = 1;
+  /** Event: entry. */
+  private static final byte ENT = 2;
+
   /** Input stream. */
   private final TextInput input;
   /** Converter. */
@@ -52,11 +67,38 @@ final class CsvParser {
    * @param input input string
    * @param opts options
    * @param conv converter
+   * @param async parse input in a separate thread
    * @throws IOException I/O exception
    */
-  static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
-      throws IOException {
-    new CsvParser(input, opts, conv).parse();
+  static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv,
+      final boolean async) throws IOException {
+    if(!async) {
+      new CsvParser(input, opts, conv).parse();
+      return;
+    }
+
+    // parse input in a separate thread, pass on events to the converter in the current thread
+    final ParseThread thread = new ParseThread(input, opts);
+    thread.start();
+    try {
+      Batch b;
+      do {
+        b = thread.next();
+        final int bs = b.size;
+        for(int e = 0; e < bs; e++) {
+          final byte[] token = b.tokens[e];
+          switch(b.events[e]) {
+            case HDR: conv.header(token); break;
+            case REC: conv.record(); break;
+            default:     conv.entry(token); break;
+          }
+        }
+        if(b.error instanceof IOException) throw (IOException) b.error;
+        if(b.error != null) throw (RuntimeException) b.error;
+      } while(!b.last);
+    } finally {
+      thread.finish();
+    }
   }
 
   /**
@@ -148,4 +190,137 @@ final class CsvParser {
       }
     }
   }
+
+  /**
+   * Batch of parse events.
+   */
+  private static final class Batch {
+    /** Events. */
+    private final byte[] events = new byte[BATCH];
+    /** Tokens (headers and entries). */
+    private final byte[][] tokens = new byte[BATCH][];
+    /** Number of events. */
+    private int size;
+    /** Last batch. */
+    private boolean last;
+    /** Error that occurred after the last event (can be {@code null}). */
+    private Exception error;
+
+    /**
+     * Adds an event.
+     * @param event event
+     * @param token token (can be {@code null})
+     */
+    private void add(final byte event, final byte[] token) {
+      events[size] = event;
+      tokens[size++] = token;
+    }
+  }
+
+  /**
+   * Thread that parses the input and passes on batches of parse events.
+   */
+  private static final class ParseThread extends Thread {
+    /** Scanned batches. */
+    private final ArrayBlockingQueue<Batch> queue = new ArrayBlockingQueue<>(BATCHES);
+    /** Parser. */
+    private final CsvParser parser;
+    /** Stop flag. */
+    private volatile boolean stopped;
+    /** Current batch. */
+    private Batch batch = new Batch();
+
+    /**
+     * Constructor.
+     * @param input input
+     * @param opts options
+     */
+    private ParseThread(final TextInput input, final CsvParserOptions opts) {
+      super(Util.className(CsvParser.class));
+      parser = new CsvParser(input, opts, new CsvConverter(opts) {
+        @Override
+        protected void header(final byte[] string) {
+          add(HDR, string);
+        }
+        @Override
+        protected void record() {
+          add(REC, null);
+        }
+        @Override
+        protected void entry(final byte[] value) {
+          add(ENT, value);
+        }
+        @Override
+        protected Item finish() {
+          return null;
+        }
+      });
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      try {
+        parser.parse();
+      } catch(final IOException | RuntimeException ex) {
+        // pass on error with the last batch
+        batch.error = ex;
+      }
+      batch.last = true;
+      put(batch);
+    }
+
+    /**
+     * Adds an event to the current batch.
+     * @param event event
+     * @param token token (can be {@code null})
+     */
+    private void add(final byte event, final byte[] token) {
+      if(stopped) throw new JobException(Text.INTERRUPTED);
+      final Batch b = batch;
+      b.add(event, token);
+      if(b.size == BATCH) {
+        put(b);
+        batch = new Batch();
+      }
+    }
+
+    /**
+     * Returns the next batch.
+     * @return batch
+     * @throws IOException I/O exception
+     */
+    private Batch next() throws IOException {
+      try {
+        return queue.take();
+      } catch(final InterruptedException ex) {
+        throw new IOException(ex);
+      }
+    }
+
+    /**
+     * Adds a batch to the queue. Waits until space is available or the thread is stopped.
+     * @param b batch
+     */
+    private void put(final Batch b) {
+      try {
+        while(!stopped && !queue.offer(b, 100, TimeUnit.MILLISECONDS));
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+
+    /**
+     * Stops the thread and waits until it has terminated.
+     */
+    private void finish() {
+      stopped = true;
+      queue.clear();
+      try {
+        join();
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
 }
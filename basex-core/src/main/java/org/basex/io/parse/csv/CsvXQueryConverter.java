@@ -1,15 +1,29 @@
 package org.basex.io.parse.csv;
 
+import java.util.*;
+
 import org.basex.build.csv.*;
+import org.basex.core.*;
 import org.basex.query.*;
 import org.basex.query.util.list.*;
+import org.basex.query.value.*;
 import org.basex.query.value.array.*;
 import org.basex.query.value.item.*;
-import org.basex.query.value.map.*;
+import org.basex.query.value.map.Map;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.list.*;
 
 /**
  * This class converts CSV data to an XQuery representation.
  *
+ * <p>By default, all entries are returned as strings. If types have been assigned to columns
+ * (see {@link CsvParserOptions#TYPES}), or if types are inferred
+ * (see {@link CsvParserOptions#INFER}), entries are cast to the atomic type of their column,
+ * and empty entries are returned as empty sequences. Types are inferred after the input has
+ * been parsed: the first of the types {@code xs:integer}, {@code xs:double} and
+ * {@code xs:date} is chosen to which all non-empty entries of a column can be cast.</p>
+ *
  * @author BaseX Team 2005-18, BSD License
  * @author Christian Gruen
  */
@@ -18,18 +32,27 @@ public final class CsvXQueryConverter extends CsvConverter {
   public static final Str NAMES = Str.get("names");
   /** Records. */
   public static final Str RECORDS = Str.get("records");
+  /** Candidates for inferred types. */
+  private static final AtomType[] INFERRED = { AtomType.ITR, AtomType.DBL, AtomType.DAT };
 
   /** Rows. */
   private final ItemList rows = new ItemList();
+  /** Column types (empty if no types are assigned). */
+  private final AtomType[] types;
+  /** Entries of all records (only assigned if types are inferred). */
+  private final ArrayList<TokenList> entries;
   /** Current row. */
   private ArrayBuilder row;
 
   /**
    * Constructor.
    * @param opts CSV options
+   * @throws BaseXException database exception
    */
-  CsvXQueryConverter(final CsvParserOptions opts) {
+  CsvXQueryConverter(final CsvParserOptions opts) throws BaseXException {
     super(opts);
+    types = opts.types();
+    entries = opts.get(CsvParserOptions.INFER) ? new ArrayList<>() : null;
   }
 
   @Override
@@ -39,19 +62,37 @@ public final class CsvXQueryConverter extends CsvConverter {
 
   @Override
   protected void record() {
-    if(row != null) rows.add(row.freeze());
-    row = new ArrayBuilder();
+    if(entries != null) {
+      entries.add(new TokenList());
+    } else {
+      if(row != null) rows.add(row.freeze());
+      row = new ArrayBuilder();
+    }
+    col = 0;
   }
 
   @Override
-  protected void entry(final byte[] value) {
-    row.append(Str.get(value));
+  protected void entry(final byte[] value) throws QueryIOException {
+    if(entries != null) {
+      entries.get(entries.size() - 1).add(value);
+    } else {
+      try {
+        row.append(value(value, col < types.length ? types[col] : null));
+      } catch(final QueryException ex) {
+        throw new QueryIOException(ex);
+      }
+    }
+    col++;
   }
 
   @Override
   protected Map finish() throws QueryIOException {
-    if(row != null) rows.add(row.freeze());
     try {
+      if(entries != null) {
+        infer();
+      } else if(row != null) {
+        rows.add(row.freeze());
+      }
       Map map = Map.EMPTY;
       if(!headers.isEmpty()) {
         final ArrayBuilder names = new ArrayBuilder();
@@ -63,4 +104,74 @@ public final class CsvXQueryConverter extends CsvConverter {
       throw new QueryIOException(ex);
     }
   }
+
+  /**
+   * Converts the cached entries of all records. Types are inferred for columns without
+   * assigned types.
+   * @throws QueryException query exception
+   */
+  private void infer() throws QueryException {
+    final int rs = entries.size();
+    int cs = 0;
+    for(final TokenList record : entries) cs = Math.max(cs, record.size());
+
+    // convert entries column by column
+    final Value[][] values = new Value[cs][];
+    for(int c = 0; c < cs; c++) {
+      final AtomType type = c < types.length ? types[c] : null;
+      values[c] = type != null ? column(c, type) : null;
+      for(int i = 0; values[c] == null && i < INFERRED.length; i++) {
+        values[c] = column(c, INFERRED[i]);
+      }
+      if(values[c] == null) values[c] = column(c, AtomType.STR);
+    }
+
+    for(int r = 0; r < rs; r++) {
+      final ArrayBuilder ab = new ArrayBuilder();
+      final int rc = entries.get(r).size();
+      for(int c = 0; c < rc; c++) ab.append(values[c][r]);
+      rows.add(ab.freeze());
+      entries.set(r, null);
+    }
+  }
+
+  /**
+   * Converts the entries of a column to the specified type.
+   * @param c column
+   * @param type target type
+   * @return values, indexed by records, or {@code null} if an inferred type does not match
+   *   or if the column has no non-empty entries
+   * @throws QueryException query exception
+   */
+  private Value[] column(final int c, final AtomType type) throws QueryException {
+    final boolean assigned = c < types.length && types[c] == type;
+    final int rs = entries.size();
+    final Value[] values = new Value[rs];
+    boolean found = type == AtomType.STR;
+    for(int r = 0; r < rs; r++) {
+      final TokenList record = entries.get(r);
+      if(c >= record.size()) continue;
+      final byte[] entry = record.get(c);
+      if(entry.length != 0) found = true;
+      try {
+        values[r] = value(entry, type);
+      } catch(final QueryException ex) {
+        if(assigned) throw ex;
+        return null;
+      }
+    }
+    return found || assigned ? values : null;
+  }
+
+  /**
+   * Converts an entry to the specified type.
+   * @param entry entry
+   * @param type target type (strings will be returned if {@code null} is specified)
+   * @return value
+   * @throws QueryException query exception
+   */
+  private static Value value(final byte[] entry, final AtomType type) throws QueryException {
+    if(type == null || type == AtomType.STR) return Str.get(entry);
+    return entry.length == 0 ? Empty.SEQ : type.cast(Str.get(entry), null, null, null);
+  }
 }
@@ -0,0 +1,262 @@
+package org.basex.io.parse.json;
+
+import static org.basex.io.parse.json.JsonConstants.*;
+import static org.basex.query.QueryError.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.build.*;
+import org.basex.build.json.*;
+import org.basex.build.json.JsonOptions.*;
+import org.basex.build.json.JsonParserOptions.*;
+import org.basex.core.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * This class converts a JSON document to XML and passes on the resulting nodes to a database
+ * builder. No intermediate node tree is created. The output is identical to the one of the
+ * direct, attributes and basic converters ({@link #supports(JsonParserOptions)}).
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonBuilder extends JsonConverter {
+  /** Attributes. */
+  private final Atts atts = new Atts();
+  /** Namespaces. */
+  private final Atts nsp = new Atts();
+  /** Builder. */
+  private final Builder builder;
+  /** JSON format. */
+  private final JsonFormat format;
+  /** Lax QName conversion. */
+  private final boolean lax;
+  /** Include string type. */
+  private final boolean strings;
+  /** Escape characters. */
+  private final boolean escape;
+  /** Whitespace chopping. */
+  private final boolean chop;
+  /** Strip namespaces. */
+  private final boolean stripNS;
+
+  /** Name of next element (direct format: name of element, attributes format: pair key). */
+  private byte[] name;
+  /** Next element to be opened (attributes format). */
+  private byte[] elem = JSON;
+  /** Number of levels to be skipped (pairs with duplicate keys). */
+  private int skip;
+  /** Indicates if the root element has been opened. */
+  private boolean root;
+
+  /**
+   * Constructor.
+   * @param jopts json options
+   * @param opts main options
+   * @param builder builder
+   * @throws QueryIOException query I/O exception
+   */
+  public JsonBuilder(final JsonParserOptions jopts, final MainOptions opts, final Builder builder)
+      throws QueryIOException {
+    super(jopts);
+    this.builder = builder;
+    format = jopts.get(JsonOptions.FORMAT);
+    lax = jopts.get(JsonOptions.LAX);
+    strings = jopts.get(JsonOptions.STRINGS);
+    escape = jopts.get(JsonParserOptions.ESCAPE);
+    chop = opts.get(MainOptions.CHOP);
+    stripNS = opts.get(MainOptions.STRIPNS);
+    if(format == JsonFormat.DIRECT) name = JSON;
+    final JsonDuplicates dupl = jopts.get(JsonParserOptions.DUPLICATES);
+    if(format == JsonFormat.BASIC && dupl == JsonDuplicates.USE_LAST) throw new QueryIOException(
+        JSON_OPTIONS_X.get(null, JsonParserOptions.DUPLICATES.name(), dupl));
+  }
+
+  /**
+   * Checks if the specified options can be processed by this converter.
+   * Merged type information requires the complete document to be known.
+   * @param jopts json options
+   * @return result of check
+   */
+  public static boolean supports(final JsonParserOptions jopts) {
+    switch(jopts.get(JsonOptions.FORMAT)) {
+      case DIRECT:
+      case ATTRIBUTES: return !jopts.get(JsonOptions.MERGE);
+      case BASIC:      return true;
+      default:         return false;
+    }
+  }
+
+  @Override
+  void openObject() throws QueryIOException {
+    open(format == JsonFormat.BASIC ? MAP : OBJECT, null);
+  }
+
+  @Override
+  void openPair(final byte[] key, final boolean add) {
+    if(format == JsonFormat.DIRECT) {
+      // direct format: duplicate keys are retained
+      name = XMLToken.encode(key, lax);
+    } else if(skip > 0 || !add) {
+      skip++;
+    } else if(format == JsonFormat.ATTRIBUTES) {
+      elem = PAIR;
+      name = key;
+    } else {
+      name = key;
+    }
+  }
+
+  @Override
+  void closePair(final boolean add) throws QueryIOException {
+    if(skip > 0) skip--;
+    else if(format == JsonFormat.ATTRIBUTES) closeElem();
+  }
+
+  @Override
+  void closeObject() throws QueryIOException {
+    if(skip == 0 && format != JsonFormat.ATTRIBUTES) closeElem();
+  }
+
+  @Override
+  void openArray() throws QueryIOException {
+    open(ARRAY, null);
+  }
+
+  @Override
+  void openItem() {
+    if(format == JsonFormat.DIRECT) name = VALUE;
+    else if(format == JsonFormat.ATTRIBUTES && skip == 0) elem = ITEM;
+  }
+
+  @Override
+  void closeItem() throws QueryIOException {
+    if(skip == 0 && format == JsonFormat.ATTRIBUTES) closeElem();
+  }
+
+  @Override
+  void closeArray() throws QueryIOException {
+    closeObject();
+  }
+
+  @Override
+  void numberLit(final byte[] value) throws QueryIOException {
+    literal(NUMBER, value);
+  }
+
+  @Override
+  void stringLit(final byte[] value) throws QueryIOException {
+    literal(STRING, value);
+  }
+
+  @Override
+  void nullLit() throws QueryIOException {
+    literal(NULL, null);
+  }
+
+  @Override
+  void booleanLit(final byte[] value) throws QueryIOException {
+    literal(BOOLEAN, value);
+  }
+
+  @Override
+  Item finish() {
+    return null;
+  }
+
+  /**
+   * Closes the root element of the attributes format.
+   * @throws IOException I/O exception
+   */
+  public void close() throws IOException {
+    if(format == JsonFormat.ATTRIBUTES && root) builder.closeElem();
+  }
+
+  /**
+   * Adds a literal.
+   * @param type JSON type
+   * @param value value
+   * @throws QueryIOException query I/O exception
+   */
+  private void literal(final byte[] type, final byte[] value) throws QueryIOException {
+    if(skip > 0) return;
+    open(type, value);
+    if(value != null) {
+      try {
+        builder.text(chop ? trim(value) : value);
+      } catch(final IOException ex) {
+        throw error(ex);
+      }
+    }
+    if(format != JsonFormat.ATTRIBUTES) closeElem();
+  }
+
+  /**
+   * Opens an element.
+   * @param type JSON type
+   * @param value value of a literal (can be {@code null})
+   * @throws QueryIOException query I/O exception
+   */
+  private void open(final byte[] type, final byte[] value) throws QueryIOException {
+    if(skip > 0) return;
+
+    final byte[] nm;
+    if(format == JsonFormat.BASIC) {
+      nm = type;
+      if(name != null) {
+        atts.add(KEY, name);
+        if(escape && contains(name, '\\')) atts.add(ESCAPED_KEY, TRUE);
+        name = null;
+      }
+      if(escape && type == STRING && contains(value, '\\')) atts.add(ESCAPED, TRUE);
+      if(!root && !stripNS) nsp.add(EMPTY, QueryText.FN_URI);
+    } else {
+      if(format == JsonFormat.DIRECT) {
+        nm = name;
+        name = null;
+      } else {
+        nm = elem;
+        if(name != null) {
+          atts.add(NAME, name);
+          name = null;
+        }
+      }
+      if(strings || type != STRING) atts.add(TYPE, type);
+    }
+    root = true;
+
+    try {
+      builder.openElem(nm, atts, nsp);
+    } catch(final IOException ex) {
+      throw error(ex);
+    } finally {
+      atts.reset();
+      nsp.reset();
+    }
+  }
+
+  /**
+   * Closes an element.
+   * @throws QueryIOException query I/O exception
+   */
+  private void closeElem() throws QueryIOException {
+    try {
+      builder.closeElem();
+    } catch(final IOException ex) {
+      throw error(ex);
+    }
+  }
+
+  /**
+   * Wraps a builder exception.
+   * @param ex exception
+   * @return query I/O exception
+   */
+  private static QueryIOException error(final IOException ex) {
+    return ex instanceof QueryIOException ? (QueryIOException) ex :
+      new QueryIOException(IOERR_X.get(null, ex));
+  }
+}
@@ -103,8 +103,9 @@ public abstract class JsonConverter {
 
   /**
    * Called when a JSON object is closed.
+   * @throws QueryIOException query exception
    */
-  abstract void closeObject();
+  abstract void closeObject() throws QueryIOException;
 
   /**
    * Called when a JSON array is opened.
@@ -119,8 +120,9 @@ public abstract class JsonConverter {
 
   /**
    * Called when an item of a JSON array is closed.
+   * @throws QueryIOException query exception
    */
-  abstract void closeItem();
+  abstract void closeItem() throws QueryIOException;
 
   /**
    * Called when a JSON array is closed.
@@ -0,0 +1,201 @@
+package org.basex.io.parse.json;
+
+import static org.basex.query.QueryError.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.build.json.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * This class returns the top-level values of a JSON input one by one. Only the input of
+ * the current value is kept in main memory.
+ *
+ * <p>By default, all values of the input are returned (e.g. the records of a JSON Lines file).
+ * If {@link JsonParserOptions#MEMBERS} is enabled, the input must be a single array, and its
+ * members will be returned.</p>
+ *
+ * <p>The input is scanned for the boundaries of the values, which are then converted by the
+ * configured {@link JsonConverter}. Syntax errors are detected by the converter.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonStream implements Closeable {
+  /** JSON options. */
+  private final JsonParserOptions jopts;
+  /** Input. */
+  private final TextInput input;
+  /** Path to the input. */
+  private final String path;
+  /** Return members of a top-level array. */
+  private final boolean members;
+  /** Liberal parsing. */
+  private final boolean liberal;
+  /** Token builder for the current value. */
+  private final TokenBuilder tb = new TokenBuilder();
+
+  /** Next character ({@code -2}: input has not been read yet). */
+  private int curr = -2;
+  /** Indicates if the end of the input (or of the top-level array) has been reached. */
+  private boolean finished;
+
+  /**
+   * Constructor.
+   * @param io input
+   * @param jopts JSON options
+   * @throws IOException I/O exception
+   */
+  public JsonStream(final IO io, final JsonParserOptions jopts) throws IOException {
+    this.jopts = jopts;
+    input = new NewlineInput(io).encoding(jopts.get(JsonParserOptions.ENCODING));
+    path = io.path();
+    members = jopts.get(JsonParserOptions.MEMBERS);
+    liberal = jopts.get(JsonParserOptions.LIBERAL);
+  }
+
+  /**
+   * Returns the next item. Values that are converted to empty sequences are skipped.
+   * @return item, or {@code null} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  public Item next() throws IOException {
+    for(byte[] value; (value = scan()) != null;) {
+      final Item item = JsonConverter.get(jopts).convert(value, path);
+      if(item != null) return item;
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  /**
+   * Scans the next value.
+   * @return input of the value, or {@code null} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  private byte[] scan() throws IOException {
+    if(finished) return null;
+
+    int ch = curr;
+    if(ch == -2) {
+      // first call: skip byte order mark, parse start of array
+      ch = input.read();
+      if(ch == 0xFEFF) ch = input.read();
+      if(members) {
+        if(skipWs(ch) != '[') throw error("Array expected");
+        ch = skipWs(input.read());
+        if(ch == ']') {
+          finish();
+          return null;
+        }
+      }
+    }
+    ch = skipWs(ch);
+    if(ch == -1) {
+      if(members) throw error("Unexpected end of input");
+      finished = true;
+      return null;
+    }
+
+    // scan next value
+    tb.reset();
+    ch = skipWs(value(ch));
+    if(members) {
+      if(ch == ',') {
+        ch = skipWs(input.read());
+        if(liberal && ch == ']') finish();
+      } else if(ch == ']') {
+        finish();
+      } else if(ch == -1) {
+        throw error("Unexpected end of input");
+      } else {
+        throw error("Unexpected character: '%'", (char) ch);
+      }
+    }
+    curr = ch;
+    return tb.toArray();
+  }
+
+  /**
+   * Scans a single value and adds it to the token builder.
+   * @param first first character of the value
+   * @return next character after the value
+   * @throws IOException I/O exception
+   */
+  private int value(final int first) throws IOException {
+    int ch = first, depth = 0;
+    boolean string = false;
+    while(ch != -1) {
+      if(string) {
+        tb.add(ch);
+        if(ch == '\\') {
+          ch = input.read();
+          if(ch == -1) break;
+          tb.add(ch);
+        } else if(ch == '"') {
+          string = false;
+          if(depth == 0) return input.read();
+        }
+      } else if(ch == '"') {
+        // a string terminates a preceding scalar value
+        if(depth == 0 && !tb.isEmpty()) return ch;
+        tb.add(ch);
+        string = true;
+      } else if(ch == '[' || ch == '{') {
+        if(depth == 0 && !tb.isEmpty()) return ch;
+        tb.add(ch);
+        depth++;
+      } else if(ch == ']' || ch == '}') {
+        if(depth == 0) return ch;
+        tb.add(ch);
+        if(--depth == 0) return input.read();
+      } else if(depth == 0 && (ch == ',' || ws(ch))) {
+        return ch;
+      } else {
+        tb.add(ch);
+      }
+      ch = input.read();
+    }
+    return ch;
+  }
+
+  /**
+   * Skips whitespaces.
+   * @param first current character
+   * @return first non-whitespace character
+   * @throws IOException I/O exception
+   */
+  private int skipWs(final int first) throws IOException {
+    int ch = first;
+    while(ch != -1 && ws(ch)) ch = input.read();
+    return ch;
+  }
+
+  /**
+   * Finishes the stream after the end of the top-level array.
+   * @throws IOException I/O exception
+   */
+  private void finish() throws IOException {
+    if(skipWs(input.read()) != -1) throw error("Unexpected trailing content");
+    finished = true;
+  }
+
+  /**
+   * Returns a parse error.
+   * @param msg error message
+   * @param ext error details
+   * @return exception
+   */
+  private QueryIOException error(final String msg, final Object... ext) {
+    return JSON_PARSE_X.getIO(Util.info(msg, ext) + (path.isEmpty() ? "" : " (" + path + ')'));
+  }
+}
@@ -35,9 +35,7 @@ public final class BaseXSerializer extends AdaptiveSerializer {
     if(nested == 0) {
       try {
         if(binary && item instanceof Bin) {
-          try(InputStream is = item.input(null)) {
-            for(int b; (b = is.read()) != -1;) out.write(b);
-          }
+          ((Bin) item).write(out, null);
         } else {
           printChars(item.string(null));
         }
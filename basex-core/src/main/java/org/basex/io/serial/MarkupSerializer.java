@@ -78,6 +78,8 @@ abstract class MarkupSerializer extends StandardSerializer {
 
     if(docsys.isEmpty()) docsys = null;
     if(docpub.isEmpty()) docpub = null;
+    if(map == null) verbatim("&<>", true);
+    else verbatim = null;
 
     final boolean html = this instanceof HTMLSerializer;
     final boolean xml = this instanceof XMLSerializer || this instanceof XHTMLSerializer;
@@ -121,16 +123,17 @@ abstract class MarkupSerializer extends StandardSerializer {
     out.print(ATT1);
     final byte[] val = norm(value);
     final int vl = val.length;
-    for(int k = 0; k < vl; k += cl(val, k)) {
-      final int cp = cp(val, k);
-      if(cp == '"') {
-        out.print(E_QUOT);
-      } else if(cp == 0x9 || cp == 0xA) {
-        printHex(cp);
-      } else {
-        printChar(cp);
+    int s = 0;
+    for(int k = 0; k < vl; k++) {
+      final byte b = val[k];
+      if(b == '"' || b == 0x9 || b == 0xA) {
+        printChars(val, s, k);
+        if(b == '"') out.print(E_QUOT);
+        else printHex(b);
+        s = k + 1;
       }
     }
+    printChars(val, s, vl);
     out.print(ATT2);
   }
 
@@ -139,14 +142,12 @@ abstract class MarkupSerializer extends StandardSerializer {
     final byte[] val = norm(value);
     if(ftp == null) {
       final ArrayList<QNm> qnames = cdata();
-      final int vl = val.length;
       if(qnames.isEmpty() || elems.isEmpty() || !qnames.contains(elems.peek())) {
-        for(int k = 0; k < vl; k += cl(val, k)) {
-          printChar(cp(val, k));
-        }
+        printChars(val);
       } else {
         out.print(CDATA_O);
         int c = 0;
+        final int vl = val.length;
         for(int k = 0; k < vl; k += cl(val, k)) {
           final int cp = cp(val, k);
           if(cp == ']') {
@@ -167,9 +168,7 @@ abstract class MarkupSerializer extends StandardSerializer {
       while(lexer.hasNext()) {
         final FTSpan span = lexer.next();
         if(!span.del && ftp.contains(span.pos)) out.print((char) TokenBuilder.MARK);
-        final byte[] text = span.text;
-        final int tl = text.length;
-        for(int t = 0; t < tl; t += cl(text, t)) printChar(cp(text, t));
+        printChars(span.text);
       }
     }
     sep = false;
@@ -26,6 +26,8 @@ public abstract class OutputSerializer extends Serializer {
   protected final String encoding;
   /** Item separator. */
   protected byte[] itemsep;
+  /** ASCII characters that are output unchanged by {@link #printChar} (can be {@code null}). */
+  protected boolean[] verbatim;
 
   /** Number of spaces to indent. */
   private final int indents;
@@ -66,6 +68,7 @@ public abstract class OutputSerializer extends Serializer {
     final byte[] nl = token(sopts.get(NEWLINE).newline());
     if(nl.length != 1 || nl[0] != '\n') po = new NewlineOutput(po, nl);
     out = po;
+    verbatim("", false);
   }
 
   @Override
@@ -101,8 +104,52 @@ public abstract class OutputSerializer extends Serializer {
    * @throws IOException I/O exception
    */
   protected final void printChars(final byte[] text) throws IOException {
-    final int al = text.length;
-    for(int a = 0; a < al; a += cl(text, a)) printChar(cp(text, a));
+    printChars(text, 0, text.length);
+  }
+
+  /**
+   * Encodes a part of the specified characters before printing.
+   * Runs of characters that need no encoding are written in a single chunk.
+   * @param text characters to be encoded and printed
+   * @param start start position
+   * @param end end position
+   * @throws IOException I/O exception
+   */
+  protected final void printChars(final byte[] text, final int start, final int end)
+      throws IOException {
+    final boolean[] vb = verbatim;
+    int s = start;
+    for(int t = start; t < end;) {
+      final byte b = text[t];
+      if(vb != null && b >= 0 && vb[b]) {
+        t++;
+      } else {
+        if(s < t) out.print(text, s, t);
+        printChar(cp(text, t));
+        t += cl(text, t);
+        s = t;
+      }
+    }
+    if(s < end) out.print(text, s, end);
+  }
+
+  /**
+   * Assigns the ASCII characters that are output unchanged by {@link #printChar}.
+   * The characters are only assigned if the output is UTF-8 encoded.
+   * @param encoded characters that are encoded
+   * @param control encode control characters (except for tabs and newlines)
+   */
+  protected final void verbatim(final String encoded, final boolean control) {
+    if(encoding == Strings.UTF8) {
+      final boolean[] vb = new boolean[0x80];
+      for(int c = 0; c < 0x80; c++) {
+        vb[c] = !control || c >= ' ' && c < 0x7F || c == '\n' || c == '\t';
+      }
+      for(final char c : encoded.toCharArray()) vb[c] = false;
+      verbatim = vb;
+    } else {
+      verbatim = null;
+    }
   }
 
   /**
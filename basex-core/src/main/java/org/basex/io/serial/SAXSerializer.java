@@ -4,8 +4,11 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import javax.xml.transform.sax.*;
+
 import org.basex.query.util.ft.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
 import org.basex.util.*;
 import org.xml.sax.*;
 import org.xml.sax.ext.*;
@@ -24,6 +27,14 @@ import org.xml.sax.helpers.*;
  * @author Michael Hedenus
  */
 public final class SAXSerializer extends Serializer implements XMLReader {
+  /** SAX feature: namespaces (supported value: {@code true}). */
+  private static final String NAMESPACES = "http://xml.org/sax/features/namespaces";
+  /** SAX feature: namespace prefixes (supported value: {@code false}). */
+  private static final String NAMESPACE_PREFIXES =
+      "http://xml.org/sax/features/namespace-prefixes";
+  /** SAX property: lexical handler. */
+  private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
   /** Item to be serialized. */
   private final Item item;
 
@@ -46,6 +57,18 @@ public final class SAXSerializer extends Serializer implements XMLReader {
     this.item = item;
   }
 
+  /**
+   * Returns a SAX source for the specified node. The node will be passed on as SAX events;
+   * it will neither be serialized nor parsed.
+   * @param node node
+   * @return source
+   */
+  public static SAXSource source(final ANode node) {
+    final SAXSource source = new SAXSource(new SAXSerializer(node), new InputSource());
+    source.setSystemId(string(node.baseURI()));
+    return source;
+  }
+
   // XMLReader ====================================================================================
 
   @Override
@@ -55,12 +78,12 @@ public final class SAXSerializer extends Serializer implements XMLReader {
 
   @Override
   public boolean getFeature(final String name) {
-    return false;
+    return NAMESPACES.equals(name);
   }
 
   @Override
   public Object getProperty(final String name) {
-    return null;
+    return LEXICAL_HANDLER.equals(name) ? lexicalHandler : null;
   }
 
   @Override
@@ -123,13 +146,20 @@ public final class SAXSerializer extends Serializer implements XMLReader {
   }
 
   @Override
-  public void setFeature(final String name, final boolean value) throws SAXNotRecognizedException {
-    throw new SAXNotRecognizedException();
+  public void setFeature(final String name, final boolean value)
+      throws SAXNotRecognizedException, SAXNotSupportedException {
+    if(NAMESPACES.equals(name) || NAMESPACE_PREFIXES.equals(name)) {
+      if(value != NAMESPACES.equals(name)) throw new SAXNotSupportedException();
+    } else {
+      throw new SAXNotRecognizedException();
+    }
   }
 
   @Override
-  public void setProperty(final String name, final Object value) throws SAXNotRecognizedException {
-    throw new SAXNotRecognizedException();
+  public void setProperty(final String name, final Object value)
+      throws SAXNotRecognizedException {
+    if(!LEXICAL_HANDLER.equals(name)) throw new SAXNotRecognizedException();
+    lexicalHandler = (LexicalHandler) value;
   }
 
   // Serializer ===================================================================================
@@ -170,13 +200,23 @@ public final class SAXSerializer extends Serializer implements XMLReader {
       final int as = attributes.size();
       for(int a = 0; a < as; a++) {
         final byte[] name = attributes.name(a);
-        final String uri = string(namespaces.get(prefix(name)));
+        // attributes without prefix have no namespace
+        final byte[] prefix = prefix(name);
+        final String uri = prefix.length == 0 ? "" : string(namespaces.get(prefix));
         final String lname = string(local(name));
         final String rname = string(name);
         final String value = string(attributes.value(a));
         attrs.addAttribute(uri, lname, rname, null, value);
       }
 
+      final Atts decls = namespaces.decls;
+      if(decls != null) {
+        final int ds = decls.size();
+        for(int d = 0; d < ds; d++) {
+          contentHandler.startPrefixMapping(string(decls.name(d)), string(decls.value(d)));
+        }
+      }
+
       final String uri = string(namespaces.get(elem.prefix()));
       final String lname = string(elem.local());
       final String rname = string(elem.string());
@@ -200,6 +240,12 @@ public final class SAXSerializer extends Serializer implements XMLReader {
       final String lname = string(elem.local());
       final String rname = string(elem.string());
       contentHandler.endElement(uri, lname, rname);
+
+      final Atts decls = namespaces.decls;
+      if(decls != null) {
+        final int ds = decls.size();
+        for(int d = 0; d < ds; d++) contentHandler.endPrefixMapping(string(decls.name(d)));
+      }
       namespaces = namespaces.getParent();
     } catch(final SAXException ex) {
       throw new IOException(ex);
@@ -16,7 +16,8 @@ public enum SerialMethod {
   /** CSV.      */ CSV,
   /** Text.     */ TEXT,
   /** Adaptive. */ ADAPTIVE,
-  /** BaseX.    */ BASEX;
+  /** BaseX.    */ BASEX,
+  /** XDM.      */ XDM;
 
   /** Cached enums (faster). */
   public static final SerialMethod[] VALUES = values();
@@ -92,6 +92,8 @@ public abstract class Serializer implements Closeable {
         return new XMLSerializer(os, so);
       case ADAPTIVE:
         return new AdaptiveSerializer(os, so);
+      case XDM:
+        return new XdmSerializer(os);
       default:
         return new BaseXSerializer(os, so);
     }
@@ -0,0 +1,291 @@
+package org.basex.io.serial;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.io.out.*;
+import org.basex.io.out.DataOutput;
+import org.basex.query.*;
+import org.basex.query.util.ft.*;
+import org.basex.query.value.*;
+import org.basex.query.value.array.Array;
+import org.basex.query.value.item.*;
+import org.basex.query.value.map.Map;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.hash.*;
+
+/**
+ * This class serializes items to a compact binary format, which preserves the types of atomic
+ * values and the structure of nodes, maps and arrays. It can be decoded with
+ * {@link org.basex.api.client.XdmDecoder}.
+ *
+ * <p>Each item starts with a kind byte. Integers are written in the compressed format of
+ * {@link DataOutput#writeNum(int)}, strings are prefixed by their length and encoded as UTF-8.
+ * Names (element and attribute names, names of atomic types) are written only once: the first
+ * occurrence is written as {@code 0}, followed by the lexical name and the namespace URI, and
+ * subsequent occurrences are referenced by their 1-based position in the name table. The name
+ * table is shared by all items that are serialized by the same serializer.</p>
+ *
+ * <ul>
+ *   <li>document: base URI, children, {@link #END}</li>
+ *   <li>element: name, namespaces, attributes, children, {@link #END}</li>
+ *   <li>attribute: name, value</li>
+ *   <li>text, comment: value</li>
+ *   <li>processing instruction: name, value</li>
+ *   <li>namespace: prefix, URI</li>
+ *   <li>atomic value: type name, representation byte, value</li>
+ *   <li>map: number of entries, entries (key, number of items, items)</li>
+ *   <li>array: number of members, members (number of items, items)</li>
+ *   <li>function: name, arity</li>
+ * </ul>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class XdmSerializer extends Serializer {
+  /** Kind: end of document or element. */
+  public static final int END = 0;
+  /** Kind: document. */
+  public static final int DOC = 1;
+  /** Kind: element. */
+  public static final int ELEM = 2;
+  /** Kind: attribute. */
+  public static final int ATTR = 3;
+  /** Kind: text. */
+  public static final int TEXT = 4;
+  /** Kind: comment. */
+  public static final int COMM = 5;
+  /** Kind: processing instruction. */
+  public static final int PI = 6;
+  /** Kind: namespace. */
+  public static final int NSP = 7;
+  /** Kind: atomic value. */
+  public static final int ATOMIC = 8;
+  /** Kind: map. */
+  public static final int MAP = 9;
+  /** Kind: array. */
+  public static final int ARRAY = 10;
+  /** Kind: function item. */
+  public static final int FUNC = 11;
+
+  /** Representation of atomic values: string. */
+  public static final int STRING = 0;
+  /** Representation of atomic values: 64-bit integer. */
+  public static final int LONG = 1;
+  /** Representation of atomic values: 64-bit floating point number. */
+  public static final int DOUBLE = 2;
+  /** Representation of atomic values: 32-bit floating point number. */
+  public static final int FLOAT = 3;
+  /** Representation of atomic values: boolean. */
+  public static final int BOOLEAN = 4;
+
+  /** Output stream. */
+  private final PrintOutput out;
+  /** Data output. */
+  private final DataOutput data;
+  /** Name table. */
+  private final TokenSet names = new TokenSet();
+
+  /**
+   * Constructor.
+   * @param os output stream
+   */
+  XdmSerializer(final OutputStream os) {
+    out = PrintOutput.get(os);
+    data = new DataOutput(out);
+  }
+
+  @Override
+  public boolean finished() {
+    return out.finished();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  protected void node(final ANode node) throws IOException {
+    final Type type = node.type;
+    if(type == NodeType.ATT) {
+      data.write(ATTR);
+      name(node.qname());
+      data.writeToken(node.string());
+    } else if(type == NodeType.NSP) {
+      data.write(NSP);
+      data.writeToken(node.name());
+      data.writeToken(node.string());
+    } else {
+      super.node(node);
+    }
+  }
+
+  @Override
+  protected void openDoc(final byte[] name) throws IOException {
+    data.write(DOC);
+    data.writeToken(name);
+  }
+
+  @Override
+  protected void closeDoc() throws IOException {
+    data.write(END);
+  }
+
+  @Override
+  protected void startOpen(final QNm name) throws IOException {
+    data.write(ELEM);
+    name(name);
+  }
+
+  @Override
+  protected void attribute(final byte[] name, final byte[] value, final boolean standalone)
+      throws IOException {
+
+    if(eq(name, XMLNS) || startsWith(name, XMLNSC)) {
+      data.write(NSP);
+      data.writeToken(local(name));
+      data.writeToken(value);
+    } else {
+      final byte[] prefix = prefix(name);
+      final byte[] uri = prefix.length == 0 ? null : nsUri(prefix);
+      data.write(ATTR);
+      name(name, uri);
+      data.writeToken(value);
+    }
+  }
+
+  @Override
+  protected void finishEmpty() throws IOException {
+    data.write(END);
+  }
+
+  @Override
+  protected void finishClose() throws IOException {
+    data.write(END);
+  }
+
+  @Override
+  protected void text(final byte[] value, final FTPos ftp) throws IOException {
+    data.write(TEXT);
+    data.writeToken(value);
+  }
+
+  @Override
+  protected void comment(final byte[] value) throws IOException {
+    data.write(COMM);
+    data.writeToken(value);
+  }
+
+  @Override
+  protected void pi(final byte[] name, final byte[] value) throws IOException {
+    data.write(PI);
+    name(name, null);
+    data.writeToken(value);
+  }
+
+  @Override
+  protected void atomic(final Item item) throws IOException {
+    data.write(ATOMIC);
+    final Type type = item.type;
+    name(token(type.toString()), null);
+    try {
+      if(item instanceof Int) {
+        data.write(LONG);
+        write8(item.itr(null));
+      } else if(item instanceof Dbl) {
+        data.write(DOUBLE);
+        write8(Double.doubleToRawLongBits(item.dbl(null)));
+      } else if(item instanceof Flt) {
+        data.write(FLOAT);
+        data.write4(Float.floatToRawIntBits(item.flt(null)));
+      } else if(item instanceof Bln) {
+        data.write(BOOLEAN);
+        data.write(item.bool(null) ? 1 : 0);
+      } else {
+        data.write(STRING);
+        data.writeToken(type == AtomType.QNM ? ((QNm) item).eqName() : item.string(null));
+      }
+    } catch(final QueryException ex) {
+      throw new QueryIOException(ex);
+    }
+  }
+
+  @Override
+  protected void function(final FItem item) throws IOException {
+    if(item instanceof Map) {
+      final Map map = (Map) item;
+      data.write(MAP);
+      data.writeNum(map.mapSize());
+      try {
+        for(final Item key : map.keys()) {
+          serialize(key);
+          value(map.get(key, null));
+        }
+      } catch(final QueryException ex) {
+        throw new QueryIOException(ex);
+      }
+    } else if(item instanceof Array) {
+      final Array array = (Array) item;
+      data.write(ARRAY);
+      data.writeNum((int) array.arraySize());
+      for(final Value value : array.members()) value(value);
+    } else {
+      final QNm fn = item.funcName();
+      data.write(FUNC);
+      data.writeToken(fn == null ? EMPTY : fn.eqName());
+      data.writeNum(item.arity());
+    }
+  }
+
+  /**
+   * Serializes a value.
+   * @param value value
+   * @throws IOException I/O exception
+   */
+  private void value(final Value value) throws IOException {
+    data.writeNum((int) value.size());
+    for(final Item item : value) serialize(item);
+  }
+
+  /**
+   * Writes a name.
+   * @param name name
+   * @throws IOException I/O exception
+   */
+  private void name(final QNm name) throws IOException {
+    name(name.string(), name.uri());
+  }
+
+  /**
+   * Writes a name, or a reference to a name that has already been written.
+   * @param name name
+   * @param uri namespace URI (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  private void name(final byte[] name, final byte[] uri) throws IOException {
+    final byte[] u = uri == null ? EMPTY : uri;
+    final byte[] key = concat(name, new byte[] { 0 }, u);
+    final int id = names.id(key);
+    if(id != 0) {
+      data.writeNum(id);
+    } else {
+      names.add(key);
+      data.writeNum(0);
+      data.writeToken(name);
+      data.writeToken(u);
+    }
+  }
+
+  /**
+   * Writes a long value.
+   * @param v value
+   * @throws IOException I/O exception
+   */
+  private void write8(final long v) throws IOException {
+    data.write4((int) (v >>> 32));
+    data.write4((int) v);
+  }
+}
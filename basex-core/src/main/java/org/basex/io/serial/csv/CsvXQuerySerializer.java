@@ -1,6 +1,7 @@
 package org.basex.io.serial.csv;
 
 import static org.basex.query.QueryError.*;
+import static org.basex.util.Token.*;
 
 import java.io.*;
 
@@ -11,6 +12,7 @@ import org.basex.query.value.*;
 import org.basex.query.value.array.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.map.*;
+import org.basex.query.value.type.*;
 import org.basex.util.list.*;
 
 /**
@@ -70,9 +72,13 @@ public final class CsvXQuerySerializer extends CsvSerializer {
     if(!(line instanceof Array))
       throw CSV_SERIALIZE_X.getIO("Array expected; " + line.type + " found");
     for(final Value entry : ((Array) line).members()) {
-      if(!(entry instanceof AStr))
-        throw CSV_SERIALIZE_X.getIO("Single item expected; " + entry.type + " found");
-      tl.add(((Item) entry).string(null));
+      if(entry.isEmpty()) {
+        tl.add(EMPTY);
+      } else {
+        if(!(entry instanceof Item) || !entry.type.instanceOf(AtomType.AAT))
+          throw CSV_SERIALIZE_X.getIO("Single atomic item expected; " + entry.type + " found");
+        tl.add(((Item) entry).string(null));
+      }
     }
     record(tl);
   }
@@ -45,6 +45,8 @@ public abstract class JsonSerializer extends StandardSerializer {
     nodups = opts.get(SerializerOptions.ALLOW_DUPLICATE_NAMES) == YesNo.NO;
     final Boolean ji = jopts.get(JsonSerialOptions.INDENT);
     if(ji != null) indent = ji;
+    if(map != null) verbatim = null;
+    else if(escape) verbatim("\b\f\n\r\t\"/\\", false);
   }
 
   @Override
@@ -147,9 +149,7 @@ public abstract class JsonSerializer extends StandardSerializer {
    */
   protected final void string(final byte[] string) throws IOException {
     out.print('"');
-    final byte[] str = norm(string);
-    final int sl = str.length;
-    for(int s = 0; s < sl; s += cl(str, s)) printChar(cp(str, s));
+    printChars(norm(string));
     out.print('"');
   }
 
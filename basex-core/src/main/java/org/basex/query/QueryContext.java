@@ -583,7 +583,7 @@ public final class QueryContext extends Job implements Closeable {
     } else {
       // otherwise, adopt update reference (may have been initialized by sub query)
       parent.updates = updates;
-      parent.popJob();
+      parent.popJob(this);
     }
     options.close();
   }
@@ -765,6 +765,14 @@ public final class QueryContext extends Job implements Closeable {
     args = arg;
   }
 
+  /**
+   * Indicates if a tail-called function has been registered.
+   * @return result of check
+   */
+  public boolean tailCall() {
+    return tailFunc != null;
+  }
+
   /**
    * Returns and clears the currently registered tail-call function.
    * @return function to call if present, {@code null} otherwise
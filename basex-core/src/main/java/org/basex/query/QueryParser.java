@@ -445,6 +445,9 @@ public class QueryParser extends InputParser {
             final Item item = items.get(a);
             if(!st.instance(item)) throw BASEX_ANNOTATION_X_X_X.get(info, sig, st, item.seqType());
           }
+          // size of memoization cache must be positive
+          if(sig == Annotation._BASEX_MEMOIZE && arity > 0 && ((ANum) items.get(0)).itr() < 1)
+            throw BASEX_ANNOTATION_X_X_X.get(info, sig, "positive integer", items.get(0));
           ann = new Ann(info, sig, items.finish());
         }
       } else {
@@ -30,6 +30,8 @@ public enum Annotation {
   /** XQuery annotation. */
   _BASEX_INLINE("inline([limit])", arg(ITR_O), BASEX_URI),
   /** XQuery annotation. */
+  _BASEX_MEMOIZE("memoize([size])", arg(ITR_O), BASEX_URI),
+  /** XQuery annotation. */
   _BASEX_READ_LOCK("read-lock(key)", arg(STR_O), BASEX_URI),
   /** XQuery annotation. */
   _BASEX_WRITE_LOCK("write-lock(key)", arg(STR_O), BASEX_URI),
@@ -3,6 +3,7 @@ package org.basex.query.expr;
 import static org.basex.query.QueryText.*;
 
 import org.basex.query.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.type.*;
@@ -32,6 +33,21 @@ public final class Arith extends Arr {
     this.calc = calc;
   }
 
+  /**
+   * Performs the calculation for all items of a numeric sequence, which are bound to the
+   * context value.
+   * @param value value (can be {@code null})
+   * @return resulting value or {@code null} if batch evaluation is not possible
+   */
+  Value calc(final Value value) {
+    final Expr expr1 = exprs[0], expr2 = exprs[1];
+    if(expr1 instanceof ContextValue && expr2 instanceof Item)
+      return NumericBatch.calc(value, calc, (Item) expr2, false);
+    if(expr2 instanceof ContextValue && expr1 instanceof Item)
+      return NumericBatch.calc(value, calc, (Item) expr1, true);
+    return null;
+  }
+
   @Override
   public Expr optimize(final CompileContext cc) throws QueryException {
     final Expr expr1 = exprs[0], expr2 = exprs[1];
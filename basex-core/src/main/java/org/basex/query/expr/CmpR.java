@@ -148,6 +148,8 @@ public final class CmpR extends Single {
 
     // iterative evaluation
     final Iter iter = expr.atomIter(qc, info);
+    final Value value = iter.value();
+    if(NumericBatch.supported(value)) return Bln.get(NumericBatch.contains(value, min, max));
     for(Item item; (item = qc.next(iter)) != null;) {
       if(inRange(item.dbl(info))) return Bln.TRUE;
     }
@@ -163,6 +165,15 @@ public final class CmpR extends Single {
     return value >= min && value <= max;
   }
 
+  /**
+   * Returns all items of a numeric sequence for which the context value is in range.
+   * @param value value (can be {@code null})
+   * @return resulting value or {@code null} if batch evaluation is not possible
+   */
+  Value filter(final Value value) {
+    return expr instanceof ContextValue ? NumericBatch.range(value, min, max) : null;
+  }
+
   /**
    * Creates an intersection of the existing and the specified expressions.
    * @param c range comparison
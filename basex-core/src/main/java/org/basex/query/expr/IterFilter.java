@@ -2,6 +2,7 @@ package org.basex.query.expr;
 
 import org.basex.query.*;
 import org.basex.query.iter.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
@@ -26,22 +27,58 @@ public final class IterFilter extends Filter {
 
   @Override
   public Iter iter(final QueryContext qc) {
+    return iter(null, qc);
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Iter iter = root.iter(qc);
+    final Value value = filter(iter.value());
+    return value != null ? value : iter(iter, qc).value(qc);
+  }
+
+  /**
+   * Returns an iterator.
+   * @param input iterator of the root expression
+   *   ({@code null}: create iterator when the first item is requested)
+   * @param qc query context
+   * @return iterator
+   */
+  private Iter iter(final Iter input, final QueryContext qc) {
     return new Iter() {
-      Iter iter;
+      Iter iter = input;
+      boolean filtered;
 
       @Override
       public Item next() throws QueryException {
         // first call - initialize iterator
-        if(iter == null) iter = root.iter(qc);
+        if(iter == null) {
+          iter = root.iter(qc);
+          final Value value = filter(iter.value());
+          if(value != null) {
+            iter = value.iter();
+            filtered = true;
+          }
+        }
         // filter sequence
         for(Item item; (item = qc.next(iter)) != null;) {
-          if(preds(item, qc)) return item;
+          if(filtered || preds(item, qc)) return item;
         }
         return null;
       }
     };
   }
 
+  /**
+   * Filters all items of a numeric sequence at once if the predicate is a range comparison
+   * with the context value.
+   * @param value value (can be {@code null})
+   * @return resulting value or {@code null}
+   */
+  private Value filter(final Value value) {
+    return exprs.length == 1 && exprs[0] instanceof CmpR ? ((CmpR) exprs[0]).filter(value) : null;
+  }
+
   @Override
   public IterFilter copy(final CompileContext cc, final IntObjMap<Var> vm) {
     return copyType(new IterFilter(info, root.copy(cc, vm), Arr.copyAll(cc, vm, exprs)));
@@ -26,6 +26,24 @@ public final class IterMap extends SimpleMap {
 
   @Override
   public Iter iter(final QueryContext qc) {
+    return iter(null, qc);
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Iter iter = exprs[0].iter(qc);
+    final Value value = calc(iter.value());
+    return value != null ? value : iter(iter, qc).value(qc);
+  }
+
+  /**
+   * Returns an iterator.
+   * @param input iterator of the first operand
+   *   ({@code null}: create iterator when the first item is requested)
+   * @param qc query context
+   * @return iterator
+   */
+  private Iter iter(final Iter input, final QueryContext qc) {
     return new Iter() {
       QueryFocus focus;
       Value[] values;
@@ -60,7 +78,7 @@ public final class IterMap extends SimpleMap {
       private void init(final QueryFocus qf) throws QueryException {
         sz = exprs.length;
         iter = new Iter[sz];
-        iter[0] = exprs[0].iter(qc);
+        iter[0] = input != null ? input : exprs[0].iter(qc);
         focus = qf.copy();
         values = new Value[sz];
         values[0] = qf.value;
@@ -68,6 +86,21 @@ public final class IterMap extends SimpleMap {
     };
   }
 
+  /**
+   * Performs all operations on a numeric sequence at once if all operands are arithmetic
+   * operations with the context value.
+   * @param value value (can be {@code null})
+   * @return resulting value or {@code null}
+   */
+  private Value calc(final Value value) {
+    Value val = value;
+    final int el = exprs.length;
+    for(int e = 1; e < el && val != null; e++) {
+      val = exprs[e] instanceof Arith ? ((Arith) exprs[e]).calc(val) : null;
+    }
+    return val;
+  }
+
   @Override
   public IterMap copy(final CompileContext cc, final IntObjMap<Var> vm) {
     return copyType(new IterMap(info, Arr.copyAll(cc, vm, exprs)));
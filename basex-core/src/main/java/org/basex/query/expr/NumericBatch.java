@@ -0,0 +1,261 @@
+package org.basex.query.expr;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Batch operations on numeric sequences ({@link IntSeq}, {@link DblSeq}, {@link RangeSeq}).
+ * The operations are performed on the primitive values, and native sequences are returned.
+ *
+ * <p>{@code null} is returned if a value is not supported, or if a result cannot be computed
+ * without loss (e.g., due to an integer overflow or a division by zero). In this case, the
+ * caller falls back to the evaluation of single items, which will also raise the errors.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class NumericBatch {
+  /** Maximum integer value that can be represented losslessly as double value. */
+  private static final long MAX_INTEGER = 1L << 53;
+
+  /** Private constructor. */
+  private NumericBatch() { }
+
+  /**
+   * Indicates if batch operations can be applied to the specified value.
+   * @param value value (can be {@code null})
+   * @return result of check
+   */
+  public static boolean supported(final Value value) {
+    return value instanceof IntSeq || value instanceof DblSeq || value instanceof RangeSeq;
+  }
+
+  /**
+   * Checks if one of the numbers is located in the specified range.
+   * @param value supported value
+   * @param min minimum
+   * @param max maximum
+   * @return result of check
+   */
+  static boolean contains(final Value value, final double min, final double max) {
+    if(value instanceof RangeSeq) {
+      final long[] range = ((RangeSeq) value).range(false);
+      return range[1] >= min && range[0] <= max;
+    }
+    if(value instanceof IntSeq) {
+      for(final long v : ((IntSeq) value).values()) {
+        if(v >= min && v <= max) return true;
+      }
+    } else {
+      for(final double v : ((DblSeq) value).values()) {
+        if(v >= min && v <= max) return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns all numbers that are located in the specified range.
+   * @param value value (can be {@code null})
+   * @param min minimum
+   * @param max maximum
+   * @return resulting value or {@code null}
+   */
+  static Value range(final Value value, final double min, final double max) {
+    if(value instanceof RangeSeq) {
+      // compute boundaries of the resulting range
+      final RangeSeq seq = (RangeSeq) value;
+      final long[] range = seq.range(false);
+      if(range[0] < -MAX_INTEGER || range[1] > MAX_INTEGER) return null;
+      final double mn = Math.max(range[0], Math.ceil(min));
+      final double mx = Math.min(range[1], Math.floor(max));
+      if(mn > mx) return Empty.SEQ;
+      return RangeSeq.get(seq.asc ? (long) mn : (long) mx, (long) mx - (long) mn + 1, seq.asc);
+    }
+    if(value instanceof IntSeq) {
+      final long[] values = ((IntSeq) value).values(), tmp = new long[values.length];
+      int t = 0;
+      for(final long v : values) {
+        if(v >= min && v <= max) tmp[t++] = v;
+      }
+      return IntSeq.get(Arrays.copyOf(tmp, t), value.type);
+    }
+    if(value instanceof DblSeq) {
+      final double[] values = ((DblSeq) value).values(), tmp = new double[values.length];
+      int t = 0;
+      for(final double v : values) {
+        if(v >= min && v <= max) tmp[t++] = v;
+      }
+      return DblSeq.get(Arrays.copyOf(tmp, t));
+    }
+    return null;
+  }
+
+  /**
+   * Performs a calculation with all numbers and the specified operand.
+   * {@code null} is returned if the result would exceed the maximum array size.
+   * @param value value (can be {@code null})
+   * @param calc calculation operator
+   * @param item operand
+   * @param swap swap operands (operand is the first argument of the calculation)
+   * @return resulting value or {@code null}
+   */
+  static Value calc(final Value value, final Calc calc, final Item item, final boolean swap) {
+    if(!supported(value) || !(item instanceof Int || item instanceof Dbl) ||
+        value.size() > Array.MAX_CAPACITY) return null;
+
+    final int size = (int) value.size();
+    if(value instanceof DblSeq || item instanceof Dbl) {
+      // floating-point arithmetic
+      if(calc == Calc.IDIV) return null;
+      final double d = ((ANum) item).dbl();
+      final double[] tmp = new double[size];
+      if(value instanceof DblSeq) {
+        final double[] values = ((DblSeq) value).values();
+        for(int s = 0; s < size; s++) tmp[s] = swap ? calc(calc, d, values[s]) :
+          calc(calc, values[s], d);
+      } else {
+        final long[] values = longs(value);
+        for(int s = 0; s < size; s++) tmp[s] = swap ? calc(calc, d, values[s]) :
+          calc(calc, values[s], d);
+      }
+      return DblSeq.get(tmp);
+    }
+
+    // integer arithmetic (division yields decimals)
+    if(calc == Calc.DIV) return null;
+    final long l = ((ANum) item).itr();
+    final long[] values = longs(value), tmp = new long[size];
+    try {
+      for(int s = 0; s < size; s++) tmp[s] = swap ? calc(calc, l, values[s]) :
+        calc(calc, values[s], l);
+    } catch(final ArithmeticException ex) {
+      Util.debug(ex);
+      return null;
+    }
+    return IntSeq.get(tmp, AtomType.ITR);
+  }
+
+  /**
+   * Computes the sum or the average of the numbers.
+   * @param value value (can be {@code null})
+   * @param avg compute average
+   * @param info input info
+   * @return resulting item or {@code null}
+   * @throws QueryException query exception
+   */
+  public static Item sum(final Value value, final boolean avg, final InputInfo info)
+      throws QueryException {
+
+    final Item sum;
+    if(value instanceof IntSeq) {
+      long s = 0;
+      try {
+        for(final long v : ((IntSeq) value).values()) s = Math.addExact(s, v);
+      } catch(final ArithmeticException ex) {
+        Util.debug(ex);
+        return null;
+      }
+      sum = Int.get(s);
+    } else if(value instanceof DblSeq) {
+      // add numbers in the order of the sequence
+      final double[] values = ((DblSeq) value).values();
+      double s = values[0];
+      final int vl = values.length;
+      for(int v = 1; v < vl; v++) s += values[v];
+      sum = Dbl.get(s);
+    } else {
+      return null;
+    }
+    return avg ? Calc.DIV.eval(sum, Int.get(value.size()), info) : sum;
+  }
+
+  /**
+   * Returns the minimum or maximum of the numbers.
+   * @param value value (can be {@code null})
+   * @param min minimum or maximum
+   * @return resulting item or {@code null}
+   */
+  public static Item minmax(final Value value, final boolean min) {
+    if(value instanceof IntSeq) {
+      final long[] values = ((IntSeq) value).values();
+      long m = values[0];
+      for(final long v : values) {
+        if(min ? v < m : v > m) m = v;
+      }
+      return Int.get(m, value.type);
+    }
+    if(value instanceof DblSeq) {
+      // NaN is returned if the sequence contains NaN
+      final double[] values = ((DblSeq) value).values();
+      double m = values[0];
+      for(final double v : values) {
+        if((min ? v < m : v > m) || Double.isNaN(v)) m = v;
+      }
+      return Dbl.get(m);
+    }
+    if(value instanceof RangeSeq) {
+      final RangeSeq seq = (RangeSeq) value;
+      return seq.itemAt(min ^ seq.asc ? seq.size() - 1 : 0);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the integers of a value.
+   * @param value value (size must not exceed the maximum array size)
+   * @return integers
+   */
+  private static long[] longs(final Value value) {
+    if(value instanceof IntSeq) return ((IntSeq) value).values();
+    final RangeSeq seq = (RangeSeq) value;
+    final long start = seq.range(true)[0], step = seq.asc ? 1 : -1;
+    final int size = (int) seq.size();
+    final long[] values = new long[size];
+    for(int s = 0; s < size; s++) values[s] = start + s * step;
+    return values;
+  }
+
+  /**
+   * Performs an integer calculation.
+   * @param calc calculation operator
+   * @param l1 first operand
+   * @param l2 second operand
+   * @return result
+   * @throws ArithmeticException arithmetic exception
+   */
+  private static long calc(final Calc calc, final long l1, final long l2) {
+    switch(calc) {
+      case PLUS:  return Math.addExact(l1, l2);
+      case MINUS: return Math.subtractExact(l1, l2);
+      case MULT:  return Math.multiplyExact(l1, l2);
+      case IDIV:
+        if(l1 == Long.MIN_VALUE && l2 == -1) throw new ArithmeticException();
+        return l1 / l2;
+      default:    return l1 % l2;
+    }
+  }
+
+  /**
+   * Performs a floating-point calculation.
+   * @param calc calculation operator
+   * @param d1 first operand
+   * @param d2 second operand
+   * @return result
+   */
+  private static double calc(final Calc calc, final double d1, final double d2) {
+    switch(calc) {
+      case PLUS:  return d1 + d2;
+      case MINUS: return d1 - d2;
+      case MULT:  return d1 * d2;
+      case DIV:   return d1 / d2;
+      default:    return d1 % d2;
+    }
+  }
+}
@@ -9,6 +9,7 @@ import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
@@ -26,6 +27,11 @@ public final class TypeCheck extends Single {
   /** Flag for function conversion. */
   public final boolean promote;
 
+  /** Type of the last atomic item that was accepted without promotion (can be {@code null}). */
+  private Type instanceType;
+  /** Numeric type of the last item that was promoted to a double (can be {@code null}). */
+  private Type doubleType;
+
   /**
    * Constructor.
    * @param sc static context
@@ -97,10 +103,10 @@ public final class TypeCheck extends Single {
           c = 0;
 
           final Item item = qc.next(iter);
-          if(item == null || st.instance(item)) {
+          if(item == null || instance(item, st)) {
             items.add(item);
           } else if(promote) {
-            st.promote(item, null, items, qc, sc, info, false);
+            promote(item, st, items, qc);
           } else {
             throw typeError(expr, st, null, info);
           }
@@ -115,15 +121,79 @@ public final class TypeCheck extends Single {
     };
   }
 
+  @Override
+  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    // check single items without iterator and item cache
+    final SeqType st = seqType();
+    if(!st.zeroOrOne() || !expr.seqType().zeroOrOne()) return super.item(qc, ii);
+
+    final Item item = expr.item(qc, info);
+    if(item == null) {
+      if(st.occ.min > 0) throw typeError(expr, st, null, info);
+      return null;
+    }
+    if(instance(item, st)) return item;
+    if(!promote) throw typeError(expr, st, null, info);
+    if(item.type == doubleType) return Dbl.get(item.dbl(info));
+
+    final ItemList items = new ItemList(1);
+    promote(item, st, items, qc);
+    final int is = items.size();
+    if(is > 1 || is == 0 && st.occ.min > 0) throw typeError(expr, st, null, info);
+    return is == 0 ? null : items.get(0);
+  }
+
   @Override
   public Value value(final QueryContext qc) throws QueryException {
-    final Value value = expr.value(qc);
     final SeqType st = seqType();
+    if(st.zeroOrOne() && expr.seqType().zeroOrOne()) {
+      final Item item = item(qc, info);
+      return item == null ? Empty.SEQ : item;
+    }
+
+    final Value value = expr.value(qc);
     if(st.instance(value)) return value;
     if(promote) return st.promote(value, null, qc, sc, info, false);
     throw typeError(value, st, null, info);
   }
 
+  /**
+   * Checks if an item is an instance of the specified type.
+   * The type of the last atomic item that passes the test is remembered, and the test is
+   * skipped for subsequent items of the same type.
+   * @param item item
+   * @param st sequence type
+   * @return result of check
+   */
+  private boolean instance(final Item item, final SeqType st) {
+    final Type type = item.type;
+    if(type == instanceType) return true;
+    if(!st.instance(item)) return false;
+    if(type instanceof AtomType && st.type instanceof AtomType) instanceType = type;
+    return true;
+  }
+
+  /**
+   * Promotes an item to the specified type.
+   * Numeric types that are promoted to doubles are remembered, and subsequent items of the same
+   * type are converted without checking the promotion rules again.
+   * @param item item
+   * @param st sequence type
+   * @param items item cache
+   * @param qc query context
+   * @throws QueryException query exception
+   */
+  private void promote(final Item item, final SeqType st, final ItemList items,
+      final QueryContext qc) throws QueryException {
+    final Type type = item.type;
+    if(type == doubleType) {
+      items.add(Dbl.get(item.dbl(info)));
+    } else {
+      st.promote(item, null, items, qc, sc, info, false);
+      if(st.type == AtomType.DBL && type instanceof AtomType && type.isNumber()) doubleType = type;
+    }
+  }
+
   /**
    * Checks if this type check is redundant if the result is bound to the given variable.
    * @param var variable
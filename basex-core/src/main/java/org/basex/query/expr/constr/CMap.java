@@ -58,17 +58,18 @@ public final class CMap extends Arr {
 
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    Map map = Map.EMPTY;
+    final MapBuilder mb = new MapBuilder(info);
     final int el = exprs.length;
     for(int e = 0; e < el; e += 2) {
       final Value key = exprs[e].atomValue(qc, info);
       if(!(key instanceof Item)) throw SEQFOUND_X.get(info, key);
       final Item k = (Item) key;
       final Value v = exprs[e + 1].value(qc);
-      if(map.contains(k, info)) throw MAPDUPLKEY_X_X_X.get(info, k, map.get(k, info), v);
-      map = map.put(k, v, info);
+      final Value old = mb.get(k);
+      if(old != null) throw MAPDUPLKEY_X_X_X.get(info, k, old, v);
+      mb.put(k, v);
     }
-    return map;
+    return mb.finish();
   }
 
   @Override
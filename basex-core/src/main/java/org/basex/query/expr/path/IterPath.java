@@ -2,12 +2,20 @@ package org.basex.query.expr.path;
 
 import static org.basex.query.QueryError.*;
 
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.index.path.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.path.Test.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.list.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
@@ -30,7 +38,39 @@ public final class IterPath extends AxisPath {
   }
 
   @Override
-  protected NodeIter nodeIter(final QueryContext qc) {
+  protected NodeIter nodeIter(final QueryContext qc) throws QueryException {
+    // return lazy sequence if path is evaluated on all documents of a database
+    // (root expression is only evaluated if it yields document nodes)
+    final Value value = qc.updating || !names() ? null : root == null ? qc.focus.value :
+      root.seqType().type == NodeType.DOC ? root.value(qc) : null;
+    final Value lazy = value != null ? lazy(value) : null;
+    if(lazy != null) {
+      final BasicIter<Item> iter = lazy.iter();
+      return new NodeIter() {
+        @Override
+        public ANode next() throws QueryException {
+          qc.checkStop();
+          return (ANode) iter.next();
+        }
+        @Override
+        public ANode get(final long i) {
+          return (ANode) iter.get(i);
+        }
+        @Override
+        public long size() {
+          return iter.size();
+        }
+        @Override
+        public Value value() {
+          return lazy;
+        }
+        @Override
+        public Value value(final QueryContext q) {
+          return lazy;
+        }
+      };
+    }
+
     return new NodeIter() {
       QueryFocus focus;
       Expr[] exprs;
@@ -75,12 +115,74 @@ public final class IterPath extends AxisPath {
         sz = steps.length + (rt ? 1 : 0);
         exprs = rt ? new ExprList(sz).add(root).add(steps).finish() : steps;
         iter = new Iter[sz];
-        iter[0] = exprs[0].iter(qc);
+        iter[0] = rt && value != null ? value.iter() : exprs[0].iter(qc);
         focus = qf.copy();
       }
     };
   }
 
+  /**
+   * Checks if this path consists of child and descendant steps with element names
+   * and without predicates.
+   * @return result of check
+   */
+  private boolean names() {
+    for(final Expr expr : steps) {
+      if(!(expr instanceof Step)) return false;
+      final Step step = (Step) expr;
+      if(step.axis != Axis.DESC && step.axis != Axis.CHILD || step.exprs.length != 0 ||
+          !(step.test instanceof NameTest) || step.test.type != NodeType.ELM) return false;
+
+      // no namespaces in database: element tests with empty namespace will only check local name
+      final NameTest test = (NameTest) step.test;
+      if(test.kind != Kind.NAME && (test.kind != Kind.URI_NAME || test.name.hasURI()))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns a lazy sequence with the results of this path if it is evaluated on all documents
+   * of a database, and if the path index proves that all elements with the name of the last
+   * step are results. Must only be called if {@link #names()} returns {@code true}.
+   * @param rt root value
+   * @return lazy sequence or {@code null}
+   */
+  private Value lazy(final Value rt) {
+    // check if root references all documents of an up-to-date database without namespaces
+    final Data data = rt.data();
+    if(data == null || !data.meta.uptodate || !data.nspaces.isEmpty() || !(
+      rt instanceof DBNodeSeq ? ((DBNodeSeq) rt).all() :
+      rt instanceof DBNode && rt.type == NodeType.DOC && data.meta.ndocs == 1)) return null;
+
+    ArrayList<PathNode> nodes = data.paths.root();
+    byte[] name = null;
+    for(final Expr expr : steps) {
+      final Step step = (Step) expr;
+      name = ((NameTest) step.test).local;
+      final int id = data.elemNames.id(name);
+      final ArrayList<PathNode> tmp = new ArrayList<>();
+      for(final PathNode node : PathIndex.desc(nodes, step.axis == Axis.DESC)) {
+        if(node.kind == Data.ELEM && node.name == id) tmp.add(node);
+      }
+      if(tmp.isEmpty()) return Empty.SEQ;
+      nodes = tmp;
+    }
+
+    // compare number of results with number of all elements with the same name
+    long size = 0, all = 0;
+    for(final PathNode node : nodes) size += node.stats.count;
+    final ArrayList<PathNode> named = data.paths.desc(name);
+    boolean flat = true;
+    final int level = named.get(0).level();
+    for(final PathNode node : named) {
+      all += node.stats.count;
+      flat &= node.level() == level;
+    }
+    return size != all || size < 2 ? null :
+      new DBNameSeq(data, data.elemNames.id(name), (int) size, flat);
+  }
+
   @Override
   public IterPath copy(final CompileContext cc, final IntObjMap<Var> vm) {
     final Expr rt = root == null ? null : root.copy(cc, vm);
@@ -744,7 +744,8 @@ public enum Function {
   // CSV Module
 
   /** XQuery function. */
-  _CSV_PARSE(CsvParse.class, "parse(string[,options])", arg(STR_ZO, MAP_ZO), ITEM_ZO, CSV_URI),
+  _CSV_PARSE(CsvParse.class, "parse(string[,options])",
+      arg(STR_ZO, MAP_ZO), ITEM_ZO, flag(CNS), CSV_URI),
   /** XQuery function. */
   _CSV_SERIALIZE(CsvSerialize.class, "serialize(item[,options])", arg(ITEM_ZO, ITEM_ZO), STR_O,
       CSV_URI),
@@ -1033,7 +1034,8 @@ public enum Function {
   // HTML Module
 
   /** XQuery function. */
-  _HTML_PARSE(HtmlParse.class, "parse(string[,options])", arg(STR_ZO, MAP_ZO), DOC_ZO, HTML_URI),
+  _HTML_PARSE(HtmlParse.class, "parse(string[,options])",
+      arg(STR_ZO, MAP_ZO), DOC_ZO, flag(CNS), HTML_URI),
   /** XQuery function. */
   _HTML_PARSER(HtmlParser.class, "parser()", arg(), STR_O, HTML_URI),
 
@@ -1113,7 +1115,11 @@ public enum Function {
   // JSON Module
 
   /** XQuery function. */
-  _JSON_PARSE(JsonParse.class, "parse(string[,options])", arg(STR_ZO, MAP_ZO), ITEM_ZO, JSON_URI),
+  _JSON_PARSE(JsonParse.class, "parse(string[,options])",
+      arg(STR_ZO, MAP_ZO), ITEM_ZO, flag(CNS), JSON_URI),
+  /** XQuery function. */
+  _JSON_PARSE_STREAM(JsonParseStream.class, "parse-stream(uri[,options])",
+      arg(STR_O, MAP_ZO), ITEM_ZM, flag(NDT), JSON_URI),
   /** XQuery function. */
   _JSON_SERIALIZE(JsonSerialize.class, "serialize(items[,options])",
       arg(ITEM_ZO, MAP_ZO), STR_O, JSON_URI),
@@ -1396,6 +1402,12 @@ public enum Function {
   _XQUERY_INVOKE_UPDATE(XQueryInvokeUpdate.class, "invoke-update(uri[,bindings[,options]])",
       arg(STR_O, MAP_ZO, MAP_ZO), EMP, flag(UPD), XQUERY_URI),
   /** XQuery function. */
+  _XQUERY_PARALLEL_FILTER(XQueryParallelFilter.class, "parallel-filter(items,function)",
+      arg(ITEM_ZM, FuncType.get(BLN_O, ITEM_O).seqType()), ITEM_ZM, flag(HOF), XQUERY_URI),
+  /** XQuery function. */
+  _XQUERY_PARALLEL_FOR_EACH(XQueryParallelForEach.class, "parallel-for-each(items,function)",
+      arg(ITEM_ZM, FuncType.get(ITEM_ZM, ITEM_O).seqType()), ITEM_ZM, flag(HOF), XQUERY_URI),
+  /** XQuery function. */
   _XQUERY_PARSE(XQueryParse.class, "parse(string[,options])",
       arg(STR_O, MAP_ZO), NOD_O, flag(NDT), XQUERY_URI),
   /** XQuery function. */
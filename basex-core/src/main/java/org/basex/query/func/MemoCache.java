@@ -0,0 +1,218 @@
+package org.basex.query.func;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.array.Array;
+import org.basex.query.value.item.*;
+import org.basex.query.value.map.Map;
+import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Size-bounded cache for the results of a memoized function.
+ *
+ * <p>Results are addressed by the function arguments: atomic items are compared by their type
+ * and value, and nodes are compared by their identity. Calls with function items, maps or arrays
+ * as arguments, and calls with arguments that contain more than {@link #MAX_ARG} items, are not
+ * cached.</p>
+ *
+ * <p>Results are only cached if they contain no nodes that may have been created by the function
+ * call: all nodes must belong to a persistent database, or to the tree of an argument node.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+final class MemoCache {
+  /** Default maximum number of cached results. */
+  static final long MAX = 10000;
+  /** Maximum number of items of an argument. */
+  static final int MAX_ARG = 64;
+
+  /** Maximum number of cached results. */
+  private final long max;
+  /** Cached results, ordered by access. */
+  private final LinkedHashMap<Key, Value> results = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Constructor.
+   * @param max maximum number of cached results
+   */
+  MemoCache(final long max) {
+    this.max = max;
+  }
+
+  /**
+   * Returns the cache key for the specified arguments.
+   * @param args arguments
+   * @param info input info
+   * @return key, or {@code null} if the arguments cannot be used as key
+   * @throws QueryException query exception
+   */
+  static Key key(final Value[] args, final InputInfo info) throws QueryException {
+    int hash = 1;
+    for(final Value arg : args) {
+      // skip large and lazy sequences (iteration would be expensive)
+      final long size = arg.size();
+      if(size > MAX_ARG || arg instanceof DBNameSeq) return null;
+      hash = 31 * hash + (int) size;
+      for(long s = 0; s < size; s++) {
+        final Item item = arg.itemAt(s);
+        final int h;
+        if(item instanceof FItem) return null;
+        if(item instanceof DBNode) {
+          h = 31 * System.identityHashCode(item.data()) + ((DBNode) item).pre();
+        } else if(item instanceof ANode) {
+          h = System.identityHashCode(item);
+        } else {
+          h = item.hash(info);
+        }
+        hash = 31 * hash + h;
+      }
+    }
+    return new Key(args, hash, info);
+  }
+
+  /**
+   * Returns a cached result.
+   * @param key key
+   * @return result or {@code null}
+   */
+  synchronized Value get(final Key key) {
+    return results.get(key);
+  }
+
+  /**
+   * Caches a result. The least recently used result is evicted if the cache is full.
+   * Results with nodes that may have been created by the function call are ignored.
+   * @param key key
+   * @param result result
+   * @param qc query context
+   */
+  void put(final Key key, final Value result, final QueryContext qc) {
+    if(!cacheable(result, key.args, qc)) return;
+    synchronized(this) {
+      results.put(key, result);
+      if(results.size() > max) {
+        final Iterator<Key> iter = results.keySet().iterator();
+        iter.next();
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Checks if a result can be cached. This is the case if all nodes of the result belong to a
+   * persistent database or to the tree of an argument node.
+   * @param result result
+   * @param args arguments
+   * @param qc query context
+   * @return result of check
+   */
+  private static boolean cacheable(final Value result, final Value[] args,
+      final QueryContext qc) {
+    if(result.type.instanceOf(AtomType.AAT)) return true;
+    for(final Item item : result) {
+      if(item instanceof ANode) {
+        if(!item.persistent() && !argument(((ANode) item).root(), args)) return false;
+      } else if(item instanceof Map) {
+        final ValueBuilder vb = new ValueBuilder(qc);
+        ((Map) item).values(vb);
+        if(!cacheable(vb.value(), args, qc)) return false;
+      } else if(item instanceof Array) {
+        for(final Value member : ((Array) item).members()) {
+          if(!cacheable(member, args, qc)) return false;
+        }
+      } else if(item instanceof FItem) {
+        // function items may contain nodes in their closure
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the specified root node is the root of an argument node.
+   * @param root root node
+   * @param args arguments
+   * @return result of check
+   */
+  private static boolean argument(final ANode root, final Value[] args) {
+    for(final Value arg : args) {
+      for(final Item item : arg) {
+        if(item instanceof ANode && ((ANode) item).root().is(root)) return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Cache key.
+   */
+  static final class Key {
+    /** Arguments. */
+    private final Value[] args;
+    /** Hash value. */
+    private final int hash;
+    /** Input info. */
+    private final InputInfo info;
+
+    /**
+     * Constructor.
+     * @param args arguments
+     * @param hash hash value
+     * @param info input info
+     */
+    private Key(final Value[] args, final int hash, final InputInfo info) {
+      this.args = args;
+      this.hash = hash;
+      this.info = info;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if(this == obj) return true;
+      if(!(obj instanceof Key)) return false;
+      final Key key = (Key) obj;
+      if(hash != key.hash || args.length != key.args.length) return false;
+
+      final int al = args.length;
+      for(int a = 0; a < al; a++) {
+        final Value value1 = args[a], value2 = key.args[a];
+        final long size = value1.size();
+        if(size != value2.size()) return false;
+        for(long s = 0; s < size; s++) {
+          if(!equal(value1.itemAt(s), value2.itemAt(s))) return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Compares two argument items.
+     * @param item1 first item
+     * @param item2 second item
+     * @return result of check
+     */
+    private boolean equal(final Item item1, final Item item2) {
+      if(item1 instanceof ANode || item2 instanceof ANode) {
+        return item1 instanceof ANode && item2 instanceof ANode &&
+            ((ANode) item1).is((ANode) item2);
+      }
+      try {
+        return item1.type == item2.type && item1.sameKey(item2, info);
+      } catch(final QueryException ex) {
+        Util.debug(ex);
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
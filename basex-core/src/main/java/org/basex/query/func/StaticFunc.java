@@ -18,6 +18,7 @@ import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
@@ -39,6 +40,8 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   private final EnumMap<Flag, Boolean> map = new EnumMap<>(Flag.class);
   /** Flag that is turned on during compilation and prevents premature inlining. */
   private boolean compiling;
+  /** Cache for the results of memoized functions (can be {@code null}). */
+  private MemoCache memo;
 
   /**
    * Function constructor.
@@ -91,6 +94,13 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
     // convert all function calls in tail position to proper tail calls
     expr.markTailCalls(cc);
 
+    // cache results of deterministic functions
+    final Ann ann = anns.get(Annotation._BASEX_MEMOIZE);
+    if(ann != null && !updating && !has(Flag.NDT, Flag.CNS)) {
+      final Item[] args = ann.args();
+      memo = new MemoCache(args.length > 0 ? ((ANum) args[0]).itr() : MemoCache.MAX);
+    }
+
     compiling = false;
   }
 
@@ -154,6 +164,13 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   public Item invItem(final QueryContext qc, final InputInfo ii, final Value... arg)
       throws QueryException {
 
+    // return cached result
+    final MemoCache.Key key = memo != null ? MemoCache.key(arg, info) : null;
+    if(key != null) {
+      final Value value = memo.get(key);
+      if(value != null && value.size() < 2) return value.isEmpty() ? null : (Item) value;
+    }
+
     // reset context and evaluate function
     final QueryFocus qf = qc.focus;
     final Value cv = qf.value;
@@ -161,7 +178,10 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
     try {
       final int pl = params.length;
       for(int p = 0; p < pl; p++) qc.set(params[p], arg[p]);
-      return expr.item(qc, info);
+      final Item item = expr.item(qc, info);
+      // skip results of pending tail calls
+      if(key != null && !qc.tailCall()) memo.put(key, item == null ? Empty.SEQ : item, qc);
+      return item;
     } finally {
       qf.value = cv;
     }
@@ -171,6 +191,13 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   public Value invValue(final QueryContext qc, final InputInfo ii, final Value... arg)
       throws QueryException {
 
+    // return cached result
+    final MemoCache.Key key = memo != null ? MemoCache.key(arg, info) : null;
+    if(key != null) {
+      final Value value = memo.get(key);
+      if(value != null) return value;
+    }
+
     // reset context and evaluate function
     final QueryFocus qf = qc.focus;
     final Value cv = qf.value;
@@ -178,7 +205,10 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
     try {
       final int pl = params.length;
       for(int p = 0; p < pl; p++) qc.set(params[p], arg[p]);
-      return expr.value(qc);
+      final Value value = expr.value(qc);
+      // skip results of pending tail calls
+      if(key != null && !qc.tailCall()) memo.put(key, value, qc);
+      return value;
     } finally {
       qf.value = cv;
     }
@@ -289,7 +319,8 @@ public final class StaticFunc extends StaticDecl implements XQFunction {
   public Expr inlineExpr(final Expr[] exprs, final CompileContext cc, final InputInfo ii)
       throws QueryException {
 
-    if(!inline(cc, anns, expr) || has(Flag.CTX) || compiling || selfRecursive()) return null;
+    if(!inline(cc, anns, expr) || has(Flag.CTX) || compiling || selfRecursive() ||
+        anns.contains(Annotation._BASEX_MEMOIZE)) return null;
     cc.info(OPTINLINE_X, (Supplier<?>) () -> id());
 
     // create let bindings for all variables
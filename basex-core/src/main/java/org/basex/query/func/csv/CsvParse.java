@@ -27,6 +27,8 @@ public final class CsvParse extends StandardFunc {
 
     try {
       return CsvConverter.get(opts).convert(new IOContent(toToken(item)));
+    } catch(final QueryIOException ex) {
+      throw ex.getCause(info);
     } catch(final IOException ex) {
       throw CSV_PARSE_X.get(info, ex);
     }
@@ -20,7 +20,7 @@ import org.basex.query.value.type.*;
 abstract class DbNew extends DbAccess {
   /**
    * Creates a {@link Data} instance for the specified document.
-   * @param input input item (node or string)
+   * @param input input item (node, string or binary item)
    * @param path optional path argument
    * @return database instance
    * @throws QueryException query exception
@@ -51,11 +51,16 @@ abstract class DbNew extends DbAccess {
       return ni;
     }
 
-    if(!input.type.isStringOrUntyped()) throw STRNOD_X_X.get(info, input.type, input);
-
-    final String string = string(input.string(info));
-    final IO io = IO.get(string);
-    if(!io.exists()) throw WHICHRES_X.get(info, string);
+    final IO io;
+    if(input instanceof Bin) {
+      // binary item: parse input stream (e.g., streamed HTTP response body)
+      io = new IOStream(((Bin) input).input(info));
+    } else {
+      if(!input.type.isStringOrUntyped()) throw STRNOD_X_X.get(info, input.type, input);
+      final String string = string(input.string(info));
+      io = IO.get(string);
+      if(!io.exists()) throw WHICHRES_X.get(info, string);
+    }
 
     // add slash to the target if the addressed file is an archive or directory
     String name = string(path);
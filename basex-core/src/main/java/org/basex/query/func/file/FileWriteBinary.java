@@ -5,8 +5,6 @@ import static org.basex.query.QueryError.*;
 import java.io.*;
 import java.nio.file.*;
 
-import org.basex.io.in.*;
-import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 
@@ -38,9 +36,8 @@ public class FileWriteBinary extends FileFn {
 
     // write full file
     if(exprs.length == 2) {
-      try(BufferOutput out = new BufferOutput(new FileOutputStream(path.toFile(), append));
-          BufferInput in = bin.input(info)) {
-        for(int b; (b = in.read()) != -1;) out.write(b);
+      try(FileOutputStream out = new FileOutputStream(path.toFile(), append)) {
+        bin.write(out, info);
       }
     } else {
       // write file chunk
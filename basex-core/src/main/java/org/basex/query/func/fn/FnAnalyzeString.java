@@ -6,6 +6,7 @@ import static org.basex.util.Token.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
+import org.basex.query.expr.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
@@ -85,4 +86,10 @@ public final class FnAnalyzeString extends RegEx {
   private static void nonmatch(final String text, final FElem par) {
     par.add(new FElem(Q_NONMATCH).add(text));
   }
+
+  @Override
+  protected Expr opt(final CompileContext cc) {
+    precompile(exprs[1], exprs.length == 3 ? exprs[2] : null, cc, true);
+    return this;
+  }
 }
@@ -28,6 +28,11 @@ public class FnAvg extends FnSum {
       if(item != null) return item;
     }
     final Iter iter = expr.atomIter(qc, info);
+    // numeric sequence: compute result from primitive values
+    final Value value = iter.value();
+    if(value instanceof RangeSeq) return range(value);
+    final Item batch = NumericBatch.sum(value, true, info);
+    if(batch != null) return batch;
     final Item item = iter.next();
     return item == null ? null : sum(iter, item, true, qc);
   }
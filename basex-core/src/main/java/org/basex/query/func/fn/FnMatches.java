@@ -5,6 +5,7 @@ import static org.basex.util.Token.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
+import org.basex.query.expr.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -21,4 +22,10 @@ public final class FnMatches extends RegEx {
     final Pattern pattern = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, false);
     return Bln.get(pattern.matcher(string(value)).find());
   }
+
+  @Override
+  protected Expr opt(final CompileContext cc) {
+    precompile(exprs[1], exprs.length == 3 ? exprs[2] : null, cc, false);
+    return this;
+  }
 }
@@ -46,6 +46,8 @@ public class FnMin extends StandardFunc {
     }
 
     final Iter iter = expr.atomIter(qc, info);
+    item1 = NumericBatch.minmax(iter.value(), cmp == OpV.GT);
+    if(item1 != null) return item1;
     item1 = iter.next();
     if(item1 == null) return null;
 
@@ -6,6 +6,7 @@ import static org.basex.util.Token.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
+import org.basex.query.expr.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
@@ -46,4 +47,10 @@ public final class FnReplace extends RegEx {
       throw REGPAT_X.get(info, ex);
     }
   }
+
+  @Override
+  protected Expr opt(final CompileContext cc) {
+    precompile(exprs[1], exprs.length == 4 ? exprs[3] : null, cc, true);
+    return this;
+  }
 }
@@ -35,6 +35,11 @@ public class FnSum extends StandardFunc {
         if(item != null) return item;
       }
       final Iter iter = exprs[0].atomIter(qc, info);
+      // numeric sequence: compute result from primitive values
+      final Value value = iter.value();
+      final Item batch = value instanceof RangeSeq ? range(value) :
+        NumericBatch.sum(value, false, info);
+      if(batch != null) return batch;
       final Item item = iter.next();
       if(item != null) return sum(iter, item, false, qc);
     }
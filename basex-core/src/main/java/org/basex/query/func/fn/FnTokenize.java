@@ -52,4 +52,10 @@ public final class FnTokenize extends RegEx {
     // X must yield single result (otherwise, it may result in an error)
     return exprs.length == 1 && exprs[0].seqType().zeroOrOne() ? exprs[0] : null;
   }
+
+  @Override
+  protected Expr opt(final CompileContext cc) {
+    if(exprs.length > 1) precompile(exprs[1], exprs.length == 3 ? exprs[2] : null, cc, true);
+    return this;
+  }
 }
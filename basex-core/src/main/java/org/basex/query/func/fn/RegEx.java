@@ -5,9 +5,9 @@ import java.util.regex.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.func.*;
-import org.basex.query.util.regex.parse.*;
+import org.basex.query.util.regex.*;
+import org.basex.query.value.*;
 import org.basex.util.*;
-import org.basex.util.hash.*;
 
 /**
  * Regular expression functions.
@@ -16,8 +16,8 @@ import org.basex.util.hash.*;
  * @author Christian Gruen
  */
 abstract class RegEx extends StandardFunc {
-  /** Pattern cache. */
-  private final TokenObjMap<Pattern> patterns = new TokenObjMap<>();
+  /** Pattern that has been compiled at compile time (can be {@code null}). */
+  private Pattern compiled;
 
   /**
    * Returns a regular expression pattern.
@@ -31,20 +31,29 @@ abstract class RegEx extends StandardFunc {
   protected Pattern pattern(final Expr regex, final Expr modifier, final QueryContext qc,
       final boolean check) throws QueryException {
 
+    if(compiled != null) return compiled;
     final byte[] pat = toToken(regex, qc);
     final byte[] mod = modifier != null ? toToken(modifier, qc) : null;
-    final TokenBuilder tb = new TokenBuilder(pat);
-    if(mod != null) tb.add(0).add(mod);
-    final byte[] key = tb.finish();
+    return RegExCache.get().pattern(pat, mod, check, info);
+  }
+
+  /**
+   * Compiles the pattern if the regular expression and the modifier are values.
+   * Errors will be raised at runtime.
+   * @param regex pattern
+   * @param modifier modifier item (can be {@code null})
+   * @param cc compilation context
+   * @param check check result for empty strings
+   */
+  protected final void precompile(final Expr regex, final Expr modifier, final CompileContext cc,
+      final boolean check) {
 
-    Pattern pattern;
-    synchronized(patterns) {
-      pattern = patterns.get(key);
-      if(pattern == null) {
-        pattern = RegExParser.parse(pat, mod, info, check);
-        patterns.put(key, pattern);
+    if(regex instanceof Value && (modifier == null || modifier instanceof Value)) {
+      try {
+        compiled = pattern(regex, modifier, cc.qc, check);
+      } catch(final QueryException ex) {
+        Util.debug(ex);
       }
     }
-    return pattern;
   }
 }
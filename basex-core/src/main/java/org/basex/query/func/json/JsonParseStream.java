@@ -0,0 +1,54 @@
+package org.basex.query.func.json;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
+import org.basex.build.json.*;
+import org.basex.io.*;
+import org.basex.io.parse.json.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.item.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonParseStream extends StandardFunc {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final IO io = checkPath(0, qc);
+    final JsonParserOptions opts = toOptions(1, new JsonParserOptions(), qc);
+
+    final JsonStreams streams = qc.resources.index(JsonStreams.class);
+    final JsonStream stream;
+    try {
+      stream = new JsonStream(io, opts);
+    } catch(final IOException ex) {
+      throw FILE_IO_ERROR_X.get(info, ex);
+    }
+    streams.add(stream);
+
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        qc.checkStop();
+        try {
+          final Item item = stream.next();
+          if(item == null) streams.remove(stream);
+          return item;
+        } catch(final QueryIOException ex) {
+          streams.remove(stream);
+          throw ex.getCause(info);
+        } catch(final IOException ex) {
+          streams.remove(stream);
+          throw FILE_IO_ERROR_X.get(info, ex);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,53 @@
+package org.basex.query.func.json;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.io.parse.json.*;
+import org.basex.query.*;
+import org.basex.util.*;
+
+/**
+ * JSON streams that have been opened by a query.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonStreams implements QueryResource {
+  /** Open streams. */
+  private final ArrayList<JsonStream> streams = new ArrayList<>();
+
+  /**
+   * Adds a stream.
+   * @param stream stream
+   */
+  synchronized void add(final JsonStream stream) {
+    streams.add(stream);
+  }
+
+  /**
+   * Removes and closes a stream.
+   * @param stream stream
+   */
+  synchronized void remove(final JsonStream stream) {
+    if(streams.remove(stream)) close(stream);
+  }
+
+  @Override
+  public synchronized void close() {
+    for(final JsonStream stream : streams) close(stream);
+    streams.clear();
+  }
+
+  /**
+   * Closes a stream.
+   * @param stream stream
+   */
+  private static void close(final JsonStream stream) {
+    try {
+      stream.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+}
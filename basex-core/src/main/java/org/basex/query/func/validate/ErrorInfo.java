@@ -56,7 +56,8 @@ final class ErrorInfo {
   public String toString() {
     final StringBuilder sb = new StringBuilder();
     if(url != null) sb.append(url).append(", ");
-    if(line != Integer.MIN_VALUE) sb.append(line).append(':').append(column).append(": ");
+    // negative values: position is unknown (e.g., if nodes are validated)
+    if(line >= 0) sb.append(line).append(':').append(column).append(": ");
     return sb.append(message).toString();
   }
 }
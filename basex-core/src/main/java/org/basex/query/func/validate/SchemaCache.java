@@ -0,0 +1,156 @@
+package org.basex.query.func.validate;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+import javax.xml.validation.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+import org.w3c.dom.ls.*;
+
+/**
+ * Size-bounded cache for compiled XML Schemas, which is shared by all queries.
+ *
+ * <p>Entries are addressed by a key that consists of the schema factory and the schema
+ * reference. The reference of a schema file includes its timestamp and size, so an entry will
+ * never be returned again after the file has been modified. Main-memory schemas are referenced
+ * by their base URI and a hash of their content. Schemas from other sources are not cached.</p>
+ *
+ * <p>Files that are included or imported by a schema are recorded by a {@link Resolver}.
+ * Their timestamps and sizes are checked whenever an entry is requested. Schemas with
+ * dependencies that cannot be checked (e.g., remote resources) are not cached.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+final class SchemaCache {
+  /** Maximum number of cached schemas. */
+  private static final int MAX = 64;
+  /** Cached schemas, ordered by access. */
+  private static final LinkedHashMap<String, Entry> SCHEMAS = new LinkedHashMap<>(16, 0.75f, true);
+
+  /** Private constructor. */
+  private SchemaCache() { }
+
+  /**
+   * Returns the cache key for a schema.
+   * @param factory schema factory (URI, implementation and version)
+   * @param schema schema reference
+   * @return key, or {@code null} if the schema cannot be cached
+   */
+  static String key(final String factory, final IO schema) {
+    final StringBuilder sb = new StringBuilder(factory).append('\0');
+    if(schema instanceof IOFile) {
+      sb.append(schema.path()).append('\0').append(stamp(schema));
+    } else if(schema instanceof IOContent) {
+      sb.append(schema.name()).append('\0').append(Strings.md5(Token.string(
+          ((IOContent) schema).read())));
+    } else {
+      return null;
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns a cached schema. The entry is discarded if one of its dependencies has changed.
+   * @param key key
+   * @return schema or {@code null}
+   */
+  static synchronized Schema get(final String key) {
+    final Entry entry = SCHEMAS.get(key);
+    if(entry == null) return null;
+    final int fl = entry.files.length;
+    for(int f = 0; f < fl; f++) {
+      if(!stamp(entry.files[f]).equals(entry.stamps[f])) {
+        SCHEMAS.remove(key);
+        return null;
+      }
+    }
+    return entry.schema;
+  }
+
+  /**
+   * Caches a schema. The least recently used entry is evicted if the cache is full.
+   * The schema is ignored if its dependencies cannot be checked.
+   * @param key key
+   * @param schema schema
+   * @param resolver resolver that has been assigned to the schema factory
+   */
+  static synchronized void put(final String key, final Schema schema, final Resolver resolver) {
+    if(!resolver.checkable) return;
+
+    SCHEMAS.put(key, new Entry(schema, resolver));
+    if(SCHEMAS.size() > MAX) {
+      final Iterator<String> iter = SCHEMAS.keySet().iterator();
+      iter.next();
+      iter.remove();
+    }
+  }
+
+  /**
+   * Returns the timestamp and size of a file.
+   * @param file file
+   * @return string representation
+   */
+  private static String stamp(final IO file) {
+    return file.timeStamp() + "\0" + file.length();
+  }
+
+  /**
+   * Resource resolver, which records the files that are included or imported by a schema.
+   * Resources are loaded by the default resolution mechanism.
+   */
+  static final class Resolver implements LSResourceResolver {
+    /** Resolved files. */
+    private final ArrayList<IOFile> files = new ArrayList<>();
+    /** Timestamps and sizes of the resolved files. */
+    private final StringList stamps = new StringList();
+    /** Indicates if all resolved resources can be checked for modifications. */
+    private boolean checkable = true;
+
+    @Override
+    public LSInput resolveResource(final String type, final String uri, final String id,
+        final String system, final String base) {
+      if(system != null) {
+        try {
+          final URI resolved = base != null ? new URI(base).resolve(system) : new URI(system);
+          if("file".equals(resolved.getScheme())) {
+            final IOFile file = new IOFile(new File(resolved));
+            files.add(file);
+            stamps.add(stamp(file));
+          } else {
+            checkable = false;
+          }
+        } catch(final URISyntaxException | IllegalArgumentException ex) {
+          Util.debug(ex);
+          checkable = false;
+        }
+      }
+      return null;
+    }
+  }
+
+  /** Cache entry. */
+  private static final class Entry {
+    /** Schema. */
+    private final Schema schema;
+    /** Files referenced by the schema. */
+    private final IOFile[] files;
+    /** Timestamps and sizes of the referenced files. */
+    private final String[] stamps;
+
+    /**
+     * Constructor.
+     * @param schema schema
+     * @param resolver resolver
+     */
+    private Entry(final Schema schema, final Resolver resolver) {
+      this.schema = schema;
+      files = resolver.files.toArray(new IOFile[0]);
+      stamps = resolver.stamps.finish();
+    }
+  }
+}
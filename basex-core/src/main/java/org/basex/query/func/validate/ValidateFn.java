@@ -7,6 +7,8 @@ import java.io.*;
 import java.util.*;
 
 import javax.xml.parsers.*;
+import javax.xml.transform.*;
+import javax.xml.transform.stream.*;
 
 import org.basex.io.*;
 import org.basex.io.serial.*;
@@ -160,4 +162,18 @@ abstract class ValidateFn extends StandardFunc {
 
     throw STRNOD_X_X.get(info, item.type, item);
   }
+
+  /**
+   * Returns a source for the specified item. Nodes are passed on as SAX events.
+   * @param item item
+   * @return source
+   * @throws QueryException query exception
+   * @throws IOException exception
+   */
+  protected final Source source(final Item item) throws QueryException, IOException {
+    if(item instanceof ANode) return SAXSerializer.source((ANode) item);
+    final IO io = read(item, null);
+    return io instanceof IOContent || io instanceof IOStream ?
+      new StreamSource(io.inputStream()) : new StreamSource(io.url());
+  }
 }
@@ -7,7 +7,7 @@ import java.net.*;
 import java.util.*;
 
 import javax.xml.*;
-import javax.xml.transform.stream.*;
+import javax.xml.transform.*;
 import javax.xml.validation.*;
 
 import org.basex.io.*;
@@ -57,7 +57,7 @@ public class ValidateXsd extends ValidateFn {
       void process(final ValidationHandler handler) throws IOException, SAXException,
           QueryException {
 
-        final IO in = read(toNodeOrAtomItem(0, qc), null);
+        final Source in = source(toNodeOrAtomItem(0, qc));
         final Item schema = toNodeOrAtomItem(1, qc);
         final String version = exprs.length > 2 ? Token.string(toToken(exprs[2], qc)) : null;
         final boolean xsd11 = VERSION_11.equals(version);
@@ -80,19 +80,28 @@ public class ValidateXsd extends ValidateFn {
           throw VALIDATE_VERSION_X.get(info, version);
         }
 
-        // create schema factory and set version
-        if(cp != null) System.setProperty(SCHEMA_FACTORY_CP + ':' + uri, cp);
-        final SchemaFactory sf = SchemaFactory.newInstance(uri);
-        if(SAXON_CP.equals(cp)) sf.setProperty(SAXON_VERSION_URI, xsd11 ? VERSION_11 : VERSION_10);
-
         // schema declaration is included in document, or specified as string
-        final Schema s = schema == null ? sf.newSchema() :
-          sf.newSchema(new URL(prepare(read(schema, null), handler).url()));
+        // compiled schemas are cached if they are specified by the caller
+        final IO io = schema == null ? null : read(schema, null);
+        final String key = io == null ? null : SchemaCache.key(uri + '\0' + cp + '\0' + xsd11, io);
+        Schema s = key == null ? null : SchemaCache.get(key);
+        if(s == null) {
+          // create schema factory and set version
+          if(cp != null) System.setProperty(SCHEMA_FACTORY_CP + ':' + uri, cp);
+          final SchemaFactory sf = SchemaFactory.newInstance(uri);
+          if(SAXON_CP.equals(cp)) {
+            sf.setProperty(SAXON_VERSION_URI, xsd11 ? VERSION_11 : VERSION_10);
+          }
+          // record the files that are referenced by cached schemas
+          final SchemaCache.Resolver resolver = key == null ? null : new SchemaCache.Resolver();
+          if(resolver != null) sf.setResourceResolver(resolver);
+          s = io == null ? sf.newSchema() : sf.newSchema(new URL(prepare(io, handler).url()));
+          if(resolver != null) SchemaCache.put(key, s, resolver);
+        }
 
         final Validator v = s.newValidator();
         v.setErrorHandler(handler);
-        v.validate(in instanceof IOContent || in instanceof IOStream ?
-            new StreamSource(in.inputStream()) : new StreamSource(in.url()));
+        v.validate(in);
       }
     });
   }
@@ -0,0 +1,72 @@
+package org.basex.query.func.xquery;
+
+import static org.basex.query.QueryError.*;
+
+import java.util.concurrent.*;
+
+import org.basex.core.jobs.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * Function that evaluates the items of a sequence in parallel. Tasks are run by the fork/join
+ * pool of the database context. All tasks are stopped if the query is stopped or if a single
+ * task fails.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public abstract class XQueryParallel extends StandardFunc {
+  @Override
+  public final Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  /**
+   * Evaluates the specified items in parallel.
+   * @param input input items
+   * @param func function to be applied to each item (can be {@code null})
+   * @param chunk maximum number of items to be evaluated by a single task
+   *   ({@code 0}: choose size depending on the number of items and the pool size)
+   * @param qc query context
+   * @return results in the order of the input items
+   * @throws QueryException query exception
+   */
+  final Value parallel(final Value input, final FItem func, final long chunk,
+      final QueryContext qc) throws QueryException {
+
+    final ForkJoinPool pool = qc.context.jobs.forkJoin();
+    final long size = input.size();
+    final long max = chunk > 0 ? chunk : Math.max(1, size / (pool.getParallelism() << 2));
+
+    // all tasks are registered as children of a single job
+    try(QueryContext pqc = new QueryContext(qc)) {
+      final XQueryTask task = new XQueryTask(this, input, func, pqc, 0, size, max);
+      try {
+        // nested calls: process tasks in the current pool
+        return ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+      } catch(final Exception ex) {
+        // stop remaining tasks, pass on query and job exceptions
+        pqc.stop();
+        final Throwable e = Util.rootException(ex);
+        if(e instanceof QueryException) throw (QueryException) e;
+        if(e instanceof JobException) throw (JobException) e;
+        throw XQUERY_UNEXPECTED_X.get(info, e);
+      }
+    }
+  }
+
+  /**
+   * Evaluates a single item.
+   * @param item input item
+   * @param func function to be applied (can be {@code null})
+   * @param qc query context of the current task
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  abstract Value eval(Item item, FItem func, QueryContext qc) throws QueryException;
+}
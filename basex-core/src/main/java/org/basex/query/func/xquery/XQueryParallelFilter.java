@@ -0,0 +1,26 @@
+package org.basex.query.func.xquery;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class XQueryParallelFilter extends XQueryParallel {
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    final Value input = exprs[0].value(qc);
+    final FItem func = checkArity(exprs[1], 1, qc);
+    return parallel(input, func, 0, qc);
+  }
+
+  @Override
+  Value eval(final Item item, final FItem func, final QueryContext qc) throws QueryException {
+    return toBoolean(func.invokeItem(qc, info, item)) ? item : Empty.SEQ;
+  }
+}
@@ -5,7 +5,6 @@ import java.util.concurrent.*;
 import org.basex.query.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
-import org.basex.util.*;
 
 /**
  * Forks a set of tasks, performing their computation in parallel followed by rejoining the results.
@@ -13,66 +12,64 @@ import org.basex.util.*;
  * @author James Wright
  */
 final class XQueryTask extends RecursiveTask<Value> {
-  /** Functions to evaluate in parallel. */
-  private final Value funcs;
+  /** Calling function. */
+  private final XQueryParallel fn;
+  /** Items to evaluate in parallel. */
+  private final Value input;
+  /** Function to be applied to the items (can be {@code null}). */
+  private final FItem func;
   /** Query context. */
   private final QueryContext qc;
-  /** Input info. */
-  private final InputInfo ii;
-  /** First function to evaluate. */
-  private final int start;
-  /** Last function to evaluate. */
-  private final int end;
+  /** First item to evaluate. */
+  private final long start;
+  /** Last item to evaluate (exclusive). */
+  private final long end;
+  /** Maximum number of items to be evaluated by a single task. */
+  private final long chunk;
 
   /**
    * Constructor.
-   * @param funcs functions to evaluate
+   * @param fn calling function
+   * @param input items to evaluate
+   * @param func function to be applied to the items (can be {@code null})
    * @param qc query context
-   * @param ii input info
+   * @param start first item to evaluate
+   * @param end last item to evaluate (exclusive)
+   * @param chunk maximum number of items to be evaluated by a single task
    */
-  XQueryTask(final Value funcs, final QueryContext qc, final InputInfo ii) {
-    this(funcs, qc, ii, 0, (int) funcs.size());
-  }
-
-  /**
-   * Private constructor.
-   * @param funcs functions to evaluate
-   * @param qc query context
-   * @param ii input info
-   * @param start first function to evaluate
-   * @param end last function to evaluate
-   */
-  private XQueryTask(final Value funcs, final QueryContext qc, final InputInfo ii,
-      final int start, final int end) {
-    this.funcs = funcs;
-    this.qc = new QueryContext(qc);
-    this.ii = ii;
+  XQueryTask(final XQueryParallel fn, final Value input, final FItem func, final QueryContext qc,
+      final long start, final long end, final long chunk) {
+    this.fn = fn;
+    this.input = input;
+    this.func = func;
+    this.qc = qc;
     this.start = start;
     this.end = end;
+    this.chunk = chunk;
   }
 
   @Override
   protected Value compute() {
-    final ValueBuilder vb = new ValueBuilder(qc);
-    final int s = start, e = end, l = e - s;
-    if(l == 1) {
+    final long s = start, e = end, l = e - s;
+    if(l <= chunk) {
       // perform the work
-      try {
-        vb.add(((FItem) funcs.itemAt(s)).invokeValue(qc, ii));
+      final ValueBuilder vb = new ValueBuilder(qc);
+      try(QueryContext qctx = new QueryContext(qc)) {
+        for(long i = s; i < e; i++) {
+          qctx.checkStop();
+          vb.add(fn.eval(input.itemAt(i), func, qctx));
+        }
       } catch(final QueryException ex) {
-        completeExceptionally(ex);
-        cancel(true);
-      } finally {
-        qc.close();
+        throw new QueryRTException(ex);
       }
-    } else if(l > 1) {
-      // split the work and join the results in the correct order
-      final int m = s + l / 2;
-      final XQueryTask task2 = new XQueryTask(funcs, qc, ii, m, e);
-      task2.fork();
-      final XQueryTask task1  = new XQueryTask(funcs, qc, ii, s, m);
-      vb.add(task1.invoke()).add(task2.join());
+      return vb.value();
     }
-    return vb.value();
+
+    // split the work and join the results in the correct order
+    final long m = s + l / 2;
+    final XQueryTask task2 = new XQueryTask(fn, input, func, qc, m, e, chunk);
+    task2.fork();
+    final XQueryTask task1 = new XQueryTask(fn, input, func, qc, s, m, chunk);
+    return new ValueBuilder(qc).add(task1.invoke()).add(task2.join()).value();
   }
 }
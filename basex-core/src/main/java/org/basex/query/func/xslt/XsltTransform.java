@@ -7,8 +7,11 @@ import java.io.*;
 import java.util.*;
 
 import javax.xml.transform.*;
-import javax.xml.transform.stream.*;
+import javax.xml.transform.sax.*;
 
+import org.basex.build.*;
+import org.basex.build.xml.*;
+import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.out.*;
 import org.basex.io.serial.*;
@@ -33,8 +36,26 @@ public class XsltTransform extends XsltFn {
 
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    // build the result document from the events of the transformer
+    final MainOptions mopts = MainOptions.get();
+    final SingleParser parser = new SingleParser(new IOContent(EMPTY), mopts) {
+      @Override
+      protected void parse() throws IOException {
+        final SAXHandler handler = new SAXHandler(builder, mopts.get(MainOptions.CHOP),
+            mopts.get(MainOptions.STRIPNS));
+        final SAXResult result = new SAXResult(handler);
+        result.setLexicalHandler(handler);
+        try {
+          transform(result, qc);
+        } catch(final QueryException ex) {
+          throw new QueryIOException(ex);
+        }
+      }
+    };
     try {
-      return new DBNode(new IOContent(transform(qc)));
+      return new DBNode(parser);
+    } catch(final QueryIOException ex) {
+      throw ex.getCause(info);
     } catch(final IOException ex) {
       throw IOERR_X.get(info, ex);
     }
@@ -42,13 +63,13 @@ public class XsltTransform extends XsltFn {
 
   /**
    * Performs an XSL transformation.
+   * @param result result of the transformation
    * @param qc query context
-   * @return item
    * @throws QueryException query exception
    */
-  final byte[] transform(final QueryContext qc) throws QueryException {
+  final void transform(final Result result, final QueryContext qc) throws QueryException {
     checkCreate(qc);
-    final IO in = read(0, qc), xsl = read(1, qc);
+    final Source in = source(0, qc), xsl = source(1, qc);
     final Options opts = toOptions(2, new Options(), qc);
     final XsltOptions xopts = toOptions(3, new XsltOptions(), qc);
 
@@ -56,7 +77,7 @@ public class XsltTransform extends XsltFn {
     final ArrayOutput ao = new ArrayOutput();
     try {
       System.setErr(new PrintStream(ao));
-      return transform(in, xsl, opts.free(), xopts);
+      transform(in, xsl, opts.free(), xopts, result);
     } catch(final TransformerException ex) {
       Util.debug(ex);
       throw XSLT_ERROR_X.get(info, trim(utf8(ao.finish(), Prop.ENCODING)));
@@ -66,24 +87,16 @@ public class XsltTransform extends XsltFn {
   }
 
   /**
-   * Returns an input reference (possibly cached) to the specified input.
+   * Returns a source for the specified input. Nodes are passed on as SAX events.
    * @param i index of argument
    * @param qc query context
-   * @return item
+   * @return source
    * @throws QueryException query exception
    */
-  private IO read(final int i, final QueryContext qc) throws QueryException {
+  private Source source(final int i, final QueryContext qc) throws QueryException {
     final Item item = toNodeOrAtomItem(i, qc);
-    if(item instanceof ANode) {
-      try {
-        final IO io = new IOContent(item.serialize(SerializerMode.NOINDENT.get()).finish());
-        io.name(string(((ANode) item).baseURI()));
-        return io;
-      } catch(final QueryIOException e) {
-        e.getCause(info);
-      }
-    }
-    if(item.type.isStringOrUntyped()) return checkPath(toToken(item));
+    if(item instanceof ANode) return SAXSerializer.source((ANode) item);
+    if(item.type.isStringOrUntyped()) return checkPath(toToken(item)).streamSource();
     throw STRNOD_X_X.get(info, item.type, item);
   }
 
@@ -93,38 +106,36 @@ public class XsltTransform extends XsltFn {
    * @param xsl style sheet
    * @param par parameters
    * @param xopts XSLT options
-   * @return transformed result
+   * @param result result of the transformation
    * @throws TransformerException transformer exception
    */
-  private static byte[] transform(final IO in, final IO xsl, final HashMap<String, String> par,
-      final XsltOptions xopts) throws TransformerException {
+  private static void transform(final Source in, final Source xsl,
+      final HashMap<String, String> par, final XsltOptions xopts, final Result result)
+      throws TransformerException {
 
     // retrieve new or cached transformer
-    final Transformer tr = transformer(xsl.streamSource(), xopts.get(XsltOptions.CACHE));
+    final Transformer tr = transformer(xsl, xopts.get(XsltOptions.CACHE));
     // bind parameters
     par.forEach(tr::setParameter);
-
-    // do transformation and return result
-    final ArrayOutput ao = new ArrayOutput();
-    tr.transform(in.streamSource(), new StreamResult(ao));
-    return ao.finish();
+    // do transformation
+    tr.transform(in, result);
   }
 
   /**
    * Returns a new or cached transformer instance.
-   * @param ss stream source
+   * @param source source
    * @param cache caching flag
    * @return transformer
    * @throws TransformerException transformer exception
    */
-  private static Transformer transformer(final StreamSource ss, final boolean cache)
+  private static Transformer transformer(final Source source, final boolean cache)
       throws TransformerException {
 
     // system id may be null
-    final String key = cache ? ss.getSystemId() : null;
+    final String key = cache ? source.getSystemId() : null;
     Transformer tr = null;
     if(key != null) tr = MAP.get(key);
-    if(tr == null) tr = TransformerFactory.newInstance().newTransformer(ss);
+    if(tr == null) tr = TransformerFactory.newInstance().newTransformer(source);
     if(key != null) MAP.put(key, tr);
     return tr;
   }
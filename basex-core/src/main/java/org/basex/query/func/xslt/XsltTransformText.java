@@ -1,5 +1,8 @@
 package org.basex.query.func.xslt;
 
+import javax.xml.transform.stream.*;
+
+import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -13,6 +16,8 @@ import org.basex.util.*;
 public final class XsltTransformText extends XsltTransform {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    return Str.get(transform(qc));
+    final ArrayOutput ao = new ArrayOutput();
+    transform(new StreamResult(ao), qc);
+    return Str.get(ao.finish());
   }
 }
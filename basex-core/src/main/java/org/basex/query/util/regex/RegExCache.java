@@ -0,0 +1,154 @@
+package org.basex.query.util.regex;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.regex.*;
+
+import org.basex.query.*;
+import org.basex.query.util.regex.parse.*;
+import org.basex.util.*;
+
+/**
+ * Process-wide cache for compiled regular expressions.
+ *
+ * <p>Patterns are looked up without locking. If the maximum number of entries is exceeded,
+ * entries will be evicted in the order in which they were added; entries that have been
+ * requested since the last check will be retained for another round.</p>
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class RegExCache {
+  /** Maximum number of cached patterns. */
+  public static final int MAX = 1000;
+  /** Singleton instance. */
+  private static final RegExCache INSTANCE = new RegExCache();
+
+  /** Cached entries. */
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  /** Eviction queue. */
+  private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+  /** Number of cache hits. */
+  private final AtomicLong hits = new AtomicLong();
+  /** Number of cache misses. */
+  private final AtomicLong misses = new AtomicLong();
+
+  /** Private constructor. */
+  private RegExCache() { }
+
+  /**
+   * Returns the cache instance.
+   * @return instance
+   */
+  public static RegExCache get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a compiled regular expression pattern.
+   * @param regex regular expression
+   * @param modifier modifier (can be {@code null})
+   * @param check check result for empty strings
+   * @param info input info
+   * @return pattern
+   * @throws QueryException query exception
+   */
+  public Pattern pattern(final byte[] regex, final byte[] modifier, final boolean check,
+      final InputInfo info) throws QueryException {
+
+    final TokenBuilder tb = new TokenBuilder(regex.length + 4).add(regex).add(0);
+    if(modifier != null) tb.add(modifier);
+    final String key = tb.add(0).add(check ? '1' : '0').toString();
+
+    final Entry entry = entries.get(key);
+    if(entry != null) {
+      hits.incrementAndGet();
+      entry.used = true;
+      return entry.pattern;
+    }
+
+    misses.incrementAndGet();
+    final Pattern pattern = RegExParser.parse(regex, modifier, info, check);
+    final Entry added = new Entry(key, pattern);
+    if(entries.putIfAbsent(key, added) == null) {
+      queue.add(added);
+      evict();
+    }
+    return pattern;
+  }
+
+  /**
+   * Returns the number of cached patterns.
+   * @return number of patterns
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of cache hits.
+   * @return number of hits
+   */
+  public long hits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of cache misses.
+   * @return number of misses
+   */
+  public long misses() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the percentage of requests that were answered by the cache.
+   * @return hit rate (0-100)
+   */
+  public double hitRate() {
+    final long h = hits.get(), total = h + misses.get();
+    return total == 0 ? 0 : h * 100d / total;
+  }
+
+  /**
+   * Removes entries until the maximum size is not exceeded anymore.
+   */
+  private void evict() {
+    while(entries.size() > MAX) {
+      final Entry entry = queue.poll();
+      if(entry == null) break;
+      if(entry.used) {
+        entry.used = false;
+        queue.add(entry);
+      } else {
+        entries.remove(entry.key, entry);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Util.className(this) + '[' + size() + " patterns, " + hits() + " hits, " +
+        misses() + " misses]";
+  }
+
+  /** Cache entry. */
+  private static final class Entry {
+    /** Key. */
+    private final String key;
+    /** Pattern. */
+    private final Pattern pattern;
+    /** Indicates if the entry has been requested since it was last checked for eviction. */
+    private volatile boolean used;
+
+    /**
+     * Constructor.
+     * @param key key
+     * @param pattern pattern
+     */
+    private Entry(final String key, final Pattern pattern) {
+      this.key = key;
+      this.pattern = pattern;
+    }
+  }
+}
@@ -112,7 +112,7 @@ public abstract class ANum extends Item {
   }
 
   @Override
-  public final int hash(final InputInfo info) {
+  public int hash(final InputInfo info) {
     // makes sure the hashing is good for very small and very big numbers
     final long l = itr();
     final float f = flt(info);
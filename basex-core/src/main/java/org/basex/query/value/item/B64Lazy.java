@@ -49,6 +49,39 @@ public final class B64Lazy extends B64 implements Lazy {
     }
   }
 
+  /**
+   * Writes the binary content to the specified output stream. If the content has not been
+   * cached, it will be streamed without being materialized. Local files are transferred via
+   * their file channel.
+   * @param os output stream
+   * @param info input info
+   * @throws QueryException query exception
+   * @throws IOException I/O exception
+   */
+  @Override
+  public void write(final OutputStream os, final InputInfo info)
+      throws QueryException, IOException {
+
+    if(cache) cache(info);
+    if(isCached()) {
+      super.write(os, info);
+    } else if(input instanceof IOFile) {
+      if(!input.exists()) throw error.get(info, new FileNotFoundException(input.path()));
+      ((IOFile) input).transferTo(os);
+    } else {
+      final InputStream is;
+      try {
+        is = input.inputStream();
+      } catch(final IOException ex) {
+        throw error.get(info, ex);
+      }
+      try(InputStream in = is) {
+        final byte[] buffer = new byte[IO.BLOCKSIZE];
+        for(int n; (n = in.read(buffer)) != -1;) os.write(buffer, 0, n);
+      }
+    }
+  }
+
   @Override
   public void cache(final InputInfo info, final  boolean lazy) throws QueryException {
     if(lazy) cache = true;
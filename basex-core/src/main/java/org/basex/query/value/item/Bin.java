@@ -1,5 +1,7 @@
 package org.basex.query.value.item;
 
+import java.io.*;
+
 import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.query.value.type.*;
@@ -41,6 +43,18 @@ public abstract class Bin extends Item {
     return new ArrayInput(data);
   }
 
+  /**
+   * Writes the binary content to the specified output stream.
+   * @param os output stream
+   * @param info input info
+   * @throws QueryException query exception
+   * @throws IOException I/O exception
+   */
+  public void write(final OutputStream os, final InputInfo info)
+      throws QueryException, IOException {
+    os.write(binary(info));
+  }
+
   @Override
   public final byte[] toJava() throws QueryException {
     return binary(null);
@@ -158,6 +158,19 @@ public final class Int extends ANum {
            item.eq(this, coll, sc, info);
   }
 
+  @Override
+  public boolean sameKey(final Item item, final InputInfo info) throws QueryException {
+    return item instanceof Int ? value == ((Int) item).value : super.sameKey(item, info);
+  }
+
+  @Override
+  public int hash(final InputInfo info) {
+    // identical to the hash value of other numbers without fractional part (see ANum#hash)
+    int h = (int) (value ^ value >>> 32);
+    h ^= h >>> 20 ^ h >>> 12;
+    return h ^ h >>> 7 ^ h >>> 4;
+  }
+
   @Override
   public int diff(final Item item, final Collation coll, final InputInfo info)
       throws QueryException {
@@ -35,6 +35,8 @@ public final class QNm extends Item {
   private final byte[] name;
   /** Prefix index. */
   private final int pref;
+  /** Cached hash value ({@code 0}: not computed yet). */
+  private int hash;
 
   /**
    * Constructor.
@@ -328,7 +330,8 @@ public final class QNm extends Item {
 
   @Override
   public int hash(final InputInfo info) {
-    return Token.hash(local());
+    if(hash == 0) hash = Token.hash(local());
+    return hash;
   }
 
   @Override
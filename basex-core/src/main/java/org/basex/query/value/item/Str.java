@@ -19,6 +19,9 @@ public final class Str extends AStr {
   /** Zero-length string. */
   public static final Str ZERO = new Str(Token.EMPTY);
 
+  /** Cached hash value ({@code 0}: not computed yet). */
+  private int hash;
+
   /**
    * Constructor.
    * @param value value
@@ -97,6 +100,12 @@ public final class Str extends AStr {
     return value;
   }
 
+  @Override
+  public int hash(final InputInfo info) {
+    if(hash == 0) hash = Token.hash(value);
+    return hash;
+  }
+
   @Override
   public String toJava() {
     return Token.string(value);
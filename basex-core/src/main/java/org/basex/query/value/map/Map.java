@@ -30,13 +30,13 @@ public final class Map extends FItem {
   static final int BITS = 5;
 
   /** Wrapped immutable map. */
-  private final TrieNode root;
+  final TrieNode root;
 
   /**
    * Constructor.
    * @param root map
    */
-  private Map(final TrieNode root) {
+  Map(final TrieNode root) {
     super(SeqType.ANY_MAP, new AnnList());
     this.root = root;
   }
@@ -1,29 +1,54 @@
 package org.basex.query.value.map;
 
+import static org.basex.query.QueryError.*;
+
 import org.basex.query.*;
+import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
+import org.basex.util.*;
 
 /**
  * A convenience class for building new maps.
  *
+ * <p>While a map is built, the trie nodes that have been created by the builder are updated in
+ * place. Nodes of existing maps are copied once before they are updated. The builder is
+ * invalidated when the resulting map is returned.</p>
+ *
  * @author BaseX Team 2005-18, BSD License
  * @author Christian Gruen
  */
 public final class MapBuilder {
-  /** Map. */
-  private Map map = Map.EMPTY;
+  /** Input info (can be {@code null}). */
+  private final InputInfo info;
+  /** Root node. */
+  private TrieNode root = TrieNode.EMPTY;
+
+  /**
+   * Constructor.
+   */
+  public MapBuilder() {
+    this(null);
+  }
 
   /**
-   * Adds a key/value pair to the map.
+   * Constructor.
+   * @param info input info (can be {@code null})
+   */
+  public MapBuilder(final InputInfo info) {
+    this.info = info;
+  }
+
+  /**
+   * Adds a key/value pair to the map. An existing entry with the same key will be replaced.
    * @param key key
    * @param value value
    * @return self reference
    * @throws QueryException query exception
    */
   public MapBuilder put(final Item key, final Value value) throws QueryException {
-    map = map.put(key, value, null);
+    root = root.put(key.hash(info), key, value, 0, info, this);
     return this;
   }
 
@@ -49,13 +74,59 @@ public final class MapBuilder {
     return put(Str.get(key), value != null ? Str.get(value) : Empty.SEQ);
   }
 
+  /**
+   * Adds all entries of the specified map.
+   * @param map map to add
+   * @param merge merge duplicate keys
+   * @param qc query context
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder add(final Map map, final MergeDuplicates merge, final QueryContext qc)
+      throws QueryException {
+
+    final TrieNode node = map.root;
+    if(root == TrieNode.EMPTY) {
+      // adopt the nodes of the first map; they will be copied when being updated
+      root = node;
+    } else if(node.size > root.size) {
+      // merge larger maps via structural sharing
+      root = root.addAll(node, 0, merge, info, qc);
+    } else {
+      final ItemList keys = new ItemList(node.size);
+      node.keys(keys);
+      for(final Item key : keys) {
+        final int hash = key.hash(info);
+        final Value value = node.get(hash, key, 0, info), old = root.get(hash, key, 0, info);
+        if(old == null || merge == MergeDuplicates.USE_LAST) {
+          root = root.put(hash, key, value, 0, info, this);
+        } else if(merge == MergeDuplicates.COMBINE) {
+          root = root.put(hash, key, ValueBuilder.concat(old, value, qc), 0, info, this);
+        } else if(merge == MergeDuplicates.REJECT) {
+          throw MERGE_DUPLICATE_X.get(info, key);
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Returns the value bound to the given key.
+   * @param key key to look for
+   * @return bound value if found, {@code null} otherwise
+   * @throws QueryException query exception
+   */
+  public Value get(final Item key) throws QueryException {
+    return root.get(key.hash(info), key, 0, info);
+  }
+
   /**
    * Returns and invalidates the resulting map.
    * @return map
    */
   public Map finish() {
-    final Map m = map;
-    map = null;
-    return m;
+    final TrieNode node = root;
+    root = null;
+    return node == TrieNode.EMPTY ? Map.EMPTY : new Map(node);
   }
 }
@@ -18,7 +18,9 @@ final class TrieBranch extends TrieNode {
   /** Child array. */
   private final TrieNode[] kids;
   /** Bit array with a bit set for every used slot. */
-  final int used;
+  int used;
+  /** Builder that is allowed to update this node in place (can be {@code null}). */
+  private final MapBuilder owner;
 
   /**
    * Constructor taking children array and the size of this map.
@@ -27,9 +29,21 @@ final class TrieBranch extends TrieNode {
    * @param size size of this node
    */
   TrieBranch(final TrieNode[] kids, final int used, final int size) {
+    this(kids, used, size, null);
+  }
+
+  /**
+   * Constructor taking children array, the size of this map and an owner.
+   * @param kids children
+   * @param used bit array
+   * @param size size of this node
+   * @param owner builder that is allowed to update this node in place (can be {@code null})
+   */
+  TrieBranch(final TrieNode[] kids, final int used, final int size, final MapBuilder owner) {
     super(size);
     this.kids = kids;
     this.used = used;
+    this.owner = owner;
     assert verify();
   }
 
@@ -66,6 +80,27 @@ final class TrieBranch extends TrieNode {
     return new TrieBranch(ks, bs, size - rem + nsub.size);
   }
 
+  @Override
+  TrieNode put(final int hs, final Item key, final Value value, final int level,
+      final InputInfo info, final MapBuilder builder) throws QueryException {
+    // copy node once if it is not owned by the builder, update owned nodes in place
+    final TrieBranch branch = builder != null && owner == builder ? this :
+      new TrieBranch(copyKids(), used, size, builder);
+    final int k = key(hs, level);
+    final TrieNode sub = kids[k];
+    if(sub != null) {
+      final int rem = sub.size;
+      final TrieNode nsub = sub.put(hs, key, value, level + 1, info, builder);
+      branch.kids[k] = nsub;
+      branch.size += nsub.size - rem;
+    } else {
+      branch.kids[k] = new TrieLeaf(hs, key, value);
+      branch.used |= 1 << k;
+      branch.size++;
+    }
+    return branch;
+  }
+
   @Override
   TrieNode delete(final int hash, final Item key, final int level, final InputInfo info)
       throws QueryException {
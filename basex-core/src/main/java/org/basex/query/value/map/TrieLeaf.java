@@ -42,6 +42,12 @@ final class TrieLeaf extends TrieNode {
   @Override
   TrieNode put(final int hs, final Item ky, final Value vl, final int level, final InputInfo info)
       throws QueryException {
+    return put(hs, ky, vl, level, info, null);
+  }
+
+  @Override
+  TrieNode put(final int hs, final Item ky, final Value vl, final int level,
+      final InputInfo info, final MapBuilder builder) throws QueryException {
 
     // same hash, replace or merge
     if(hs == hash) return key.sameKey(ky, info) ? new TrieLeaf(hs, ky, vl) :
@@ -52,14 +58,14 @@ final class TrieLeaf extends TrieNode {
     final int a = key(hs, level), b = key(hash, level);
     final int used;
     if(a == b) {
-      ch[a] = put(hs, ky, vl, level + 1, info);
+      ch[a] = put(hs, ky, vl, level + 1, info, builder);
       used = 1 << a;
     } else {
       ch[a] = new TrieLeaf(hs, ky, vl);
       ch[b] = this;
       used = 1 << a | 1 << b;
     }
-    return new TrieBranch(ch, used, 2);
+    return new TrieBranch(ch, used, 2, builder);
   }
 
   @Override
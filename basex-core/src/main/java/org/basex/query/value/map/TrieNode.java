@@ -75,8 +75,8 @@ abstract class TrieNode {
     StringBuilder append(final StringBuilder sb) { return sb; }
   };
 
-  /** Size of this node. */
-  final int size;
+  /** Size of this node (only modified by transient updates of {@link TrieBranch} nodes). */
+  int size;
   /**
    * Constructor.
    * @param size size
@@ -98,6 +98,23 @@ abstract class TrieNode {
   abstract TrieNode put(int hash, Item key, Value value, int level, InputInfo info)
       throws QueryException;
 
+  /**
+   * Puts the given value into this map and replaces existing keys. Nodes that are owned
+   * by the specified builder may be updated in place.
+   * @param hash hash code used as key
+   * @param key key to insert
+   * @param value value to insert
+   * @param level level
+   * @param info input info
+   * @param builder map builder (can be {@code null})
+   * @return updated map
+   * @throws QueryException query exception
+   */
+  TrieNode put(final int hash, final Item key, final Value value, final int level,
+      final InputInfo info, final MapBuilder builder) throws QueryException {
+    return put(hash, key, value, level, info);
+  }
+
   /**
    * Deletes a key from this map.
    * @param hash hash code of the key
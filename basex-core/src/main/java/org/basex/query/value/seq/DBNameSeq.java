@@ -0,0 +1,134 @@
+package org.basex.query.value.seq;
+
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Lazy sequence, containing all elements of a database with the same name.
+ * The number of elements is supplied by the caller (usually taken from the path index).
+ * Pre values are only computed when they are requested: for random access, the table is scanned
+ * up to the requested position, and the pre values found so far are cached. Iterators scan the
+ * table without caching pre values.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class DBNameSeq extends DBNodeSeq {
+  /** Initial size of the pre value array. */
+  private static final int CAPACITY = 1 << 6;
+
+  /** Name id of the elements. */
+  private final int name;
+  /** Indicates if elements with the same name are never nested. */
+  private final boolean flat;
+  /** Number of pre values that have been computed. */
+  private volatile int count;
+  /** Next pre value to be scanned. */
+  private int next;
+
+  /**
+   * Constructor.
+   * @param data data reference
+   * @param name name id of the elements
+   * @param size number of elements (must be greater than 1)
+   * @param flat indicates if elements with the same name are never nested
+   */
+  public DBNameSeq(final Data data, final int name, final int size, final boolean flat) {
+    super(new int[Math.min(size, CAPACITY)], size, data, NodeType.ELM, false);
+    this.name = name;
+    this.flat = flat;
+  }
+
+  @Override
+  public int[] pres() {
+    fill((int) size - 1);
+    return pres;
+  }
+
+  @Override
+  public int pre(final int index) {
+    fill(index);
+    return pres[index];
+  }
+
+  @Override
+  public BasicIter<Item> iter() {
+    return new BasicIter<Item>(size) {
+      /** Next pre value to be scanned. */
+      int p;
+
+      @Override
+      public Item next() {
+        if(pos == size) return null;
+        // use cached pre values, scan remaining elements without caching them
+        final int c = (int) pos++, pre = c < count ? pres[c] : scan(p);
+        p = skip(pre);
+        return new DBNode(data, pre);
+      }
+      @Override
+      public Item get(final long i) {
+        return itemAt(i);
+      }
+      @Override
+      public Value value() {
+        return DBNameSeq.this;
+      }
+      @Override
+      public Value value(final QueryContext qc) {
+        return value();
+      }
+    };
+  }
+
+  /**
+   * Computes all pre values up to the specified index.
+   * @param index index of the last pre value to be computed
+   */
+  private void fill(final int index) {
+    if(index < count) return;
+    synchronized(this) {
+      int c = count, p = next;
+      int[] tmp = pres;
+      while(c <= index) {
+        final int pre = scan(p);
+        if(c == tmp.length) tmp = Arrays.copyOf(tmp, (int) Math.min(size, Array.newSize(c)));
+        tmp[c++] = pre;
+        p = skip(pre);
+      }
+      pres = tmp;
+      next = p;
+      count = c;
+    }
+  }
+
+  /**
+   * Returns the pre value of the next element, starting from the specified pre value.
+   * @param pre pre value to start from
+   * @return pre value of the element
+   */
+  private int scan(final int pre) {
+    final int max = data.meta.size;
+    for(int p = pre; p < max; p++) {
+      if(data.kind(p) == Data.ELEM && data.nameId(p) == name) return p;
+    }
+    throw Util.notExpected("Element not found.");
+  }
+
+  /**
+   * Returns the pre value from which the next element will be scanned.
+   * @param pre pre value of the current element
+   * @return pre value
+   */
+  private int skip(final int pre) {
+    // skip descendants if the elements cannot contain elements with the same name
+    return pre + (flat ? data.size(pre, Data.ELEM) : 1);
+  }
+}
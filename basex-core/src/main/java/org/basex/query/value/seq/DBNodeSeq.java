@@ -36,7 +36,20 @@ public class DBNodeSeq extends NativeSeq {
    * @param all pre values reference all documents of the database
    */
   protected DBNodeSeq(final int[] pres, final Data data, final Type type, final boolean all) {
-    super(pres.length, type);
+    this(pres, pres.length, data, type, all);
+  }
+
+  /**
+   * Constructor, specifying the number of nodes.
+   * @param pres pre values (may initially contain fewer entries than specified by the size)
+   * @param size number of nodes
+   * @param data data reference
+   * @param type node type
+   * @param all pre values reference all documents of the database
+   */
+  protected DBNodeSeq(final int[] pres, final int size, final Data data, final Type type,
+      final boolean all) {
+    super(size, type);
     this.pres = pres;
     this.data = data;
     this.all = all;
@@ -62,12 +75,12 @@ public class DBNodeSeq extends NativeSeq {
     if(this == obj) return true;
     if(!(obj instanceof DBNodeSeq)) return super.equals(obj);
     final DBNodeSeq ds = (DBNodeSeq) obj;
-    return size == ds.size && Arrays.equals(pres, ds.pres);
+    return size == ds.size && Arrays.equals(pres(), ds.pres());
   }
 
   @Override
   public DBNode itemAt(final long pos) {
-    return new DBNode(data, pres[(int) pos]);
+    return new DBNode(data, pre((int) pos));
   }
 
   @Override
@@ -105,8 +118,8 @@ public class DBNodeSeq extends NativeSeq {
   @Override
   public Value reverse(final QueryContext qc) {
     final int sz = (int) size;
-    final int[] tmp = new int[sz];
-    for(int i = 0; i < sz; i++) tmp[sz - i - 1] = pres[i];
+    final int[] ps = pres(), tmp = new int[sz];
+    for(int i = 0; i < sz; i++) tmp[sz - i - 1] = ps[i];
     return get(tmp, data, type, false);
   }
 
@@ -115,7 +128,7 @@ public class DBNodeSeq extends NativeSeq {
     final StringBuilder sb = new StringBuilder(PAREN1);
     for(int i = 0; i < size; ++i) {
       sb.append(i == 0 ? "" : SEP);
-      sb.append(_DB_OPEN_PRE.args(data.meta.name, pres[i]).substring(1));
+      sb.append(_DB_OPEN_PRE.args(data.meta.name, pre(i)).substring(1));
       if(sb.length() <= 16 || i + 1 == size) continue;
       // output is chopped to prevent too long error strings
       sb.append(SEP).append(DOTS);
@@ -54,6 +54,8 @@ public final class ClientListener extends Thread implements ClientInfo {
   private volatile boolean authenticated;
   /** Indicates if the server has been closed. */
   private boolean closed;
+  /** Indicates if a batch of requests is currently being processed. */
+  private boolean batch;
 
   /**
    * Constructor.
@@ -75,86 +77,21 @@ public final class ClientListener extends Thread implements ClientInfo {
 
     try {
       while(authenticated) {
-        command = null;
-        String cmd;
-        final ServerCmd sc;
+        final int b;
         try {
-          final int b = in.read();
-          if(b == -1) {
-            // end of stream: exit session
-            close();
-            break;
-          }
-
-          last = System.currentTimeMillis();
-          perf.ns();
-          sc = ServerCmd.get(b);
-          cmd = null;
-          if(sc == ServerCmd.CREATE) {
-            create();
-          } else if(sc == ServerCmd.ADD) {
-            add();
-          } else if(sc == ServerCmd.REPLACE) {
-            replace();
-          } else if(sc == ServerCmd.STORE) {
-            store();
-          } else if(sc != ServerCmd.COMMAND) {
-            query(sc);
-          } else {
-            // database command
-            cmd = new ByteList().add(b).add(in.readBytes()).toString();
-          }
+          b = in.read();
         } catch(final IOException ex) {
           // this exception may be thrown if a session is stopped
           Util.debug(ex);
           close();
           break;
         }
-        if(sc != ServerCmd.COMMAND) continue;
-
-        // parse input and create command instance
-        try {
-          command = CommandParser.get(cmd, context).parseSingle();
-          command.jc().tracer = QueryTracer.EVALINFO;
-          log(LogType.REQUEST, command.toString(true));
-        } catch(final QueryException ex) {
-          // log invalid command
-          final String msg = ex.getMessage();
-          log(LogType.REQUEST, cmd);
-          log(LogType.ERROR, msg);
-          // send 0 to mark end of potential result
-          out.write(0);
-          // send {INFO}0
-          out.print(msg);
-          out.write(0);
-          // send 1 to mark error
-          send(false);
-          continue;
-        }
-
-        // execute command and send {RESULT}
-        boolean ok = true;
-        String info;
-        try {
-          // run command
-          command.execute(context, new ServerOutput(out));
-          info = command.info();
-        } catch(final BaseXException ex) {
-          Util.debug(ex);
-          ok = false;
-          info = ex.getMessage();
-        }
-
-        // send 0 to mark end of result
-        out.write(0);
-        // send info
-        info(info, ok);
-
-        // stop console
-        if(command instanceof Exit) {
-          command = null;
+        if(b == -1) {
+          // end of stream: exit session
           close();
+          break;
         }
+        if(!process(b)) break;
       }
     } catch(final IOException ex) {
       log(LogType.ERROR, Util.message(ex));
@@ -164,6 +101,93 @@ public final class ClientListener extends Thread implements ClientInfo {
     command = null;
   }
 
+  /**
+   * Processes a single client request.
+   * @param b first byte of the request
+   * @return {@code false} if the session has been closed
+   * @throws IOException I/O exception
+   */
+  private boolean process(final int b) throws IOException {
+    String cmd = null;
+    final ServerCmd sc;
+    try {
+      last = System.currentTimeMillis();
+      perf.ns();
+      sc = ServerCmd.get(b);
+      if(sc == ServerCmd.BATCH) {
+        batch();
+      } else if(sc == ServerCmd.CREATE) {
+        create();
+      } else if(sc == ServerCmd.ADD) {
+        add();
+      } else if(sc == ServerCmd.REPLACE) {
+        replace();
+      } else if(sc == ServerCmd.STORE) {
+        store();
+      } else if(sc != ServerCmd.COMMAND) {
+        query(sc);
+      } else {
+        // database command
+        cmd = new ByteList().add(b).add(in.readBytes()).toString();
+      }
+    } catch(final IOException ex) {
+      // this exception may be thrown if a session is stopped
+      Util.debug(ex);
+      close();
+      return false;
+    }
+    if(sc != ServerCmd.COMMAND) return !closed;
+
+    // parse input and create command instance
+    try {
+      command = CommandParser.get(cmd, context).parseSingle();
+      command.jc().tracer = QueryTracer.EVALINFO;
+      log(LogType.REQUEST, command.toString(true));
+    } catch(final QueryException ex) {
+      // log invalid command
+      final String msg = ex.getMessage();
+      log(LogType.REQUEST, cmd);
+      log(LogType.ERROR, msg);
+      // send 0 to mark end of potential result
+      out.write(0);
+      // send {INFO}0
+      out.print(msg);
+      out.write(0);
+      // send 1 to mark error
+      send(false);
+      return true;
+    }
+
+    // execute command and send {RESULT}
+    boolean ok = true;
+    String info;
+    try {
+      // run command
+      command.execute(context, new ServerOutput(out));
+      info = command.info();
+    } catch(final BaseXException ex) {
+      Util.debug(ex);
+      ok = false;
+      info = ex.getMessage();
+    }
+
+    // send 0 to mark end of result
+    out.write(0);
+    // send info
+    info(info, ok);
+
+    // stop console
+    final boolean exit = command instanceof Exit;
+    command = null;
+    if(exit) {
+      // send pending responses of a batch before the connection is closed
+      out.flush();
+      close();
+      return false;
+    }
+    return true;
+  }
+
   /**
    * Initializes a session via digest authentication.
    * @return success flag
@@ -298,6 +322,29 @@ public final class ClientListener extends Thread implements ClientInfo {
     send(ok);
   }
 
+  /**
+   * Processes a batch of requests. All responses are sent back in a single flush.
+   * @throws IOException I/O exception
+   */
+  private void batch() throws IOException {
+    final int count = Strings.toInt(in.readString());
+    if(count < 0) throw new IOException("Invalid batch size: " + count);
+
+    final boolean nested = batch;
+    batch = true;
+    try {
+      for(int c = 0; c < count; c++) {
+        final int b = in.read();
+        if(b == -1) throw new EOFException("Batch was interrupted after " + c + " requests.");
+        // session was closed: no further requests will be processed
+        if(!process(b)) return;
+      }
+    } finally {
+      batch = nested;
+    }
+    flush();
+  }
+
   /**
    * Creates a database.
    * @throws IOException I/O exception
@@ -430,7 +477,7 @@ public final class ClientListener extends Thread implements ClientInfo {
       out.print(error);
       out.write(0);
     }
-    out.flush();
+    flush();
   }
 
   /**
@@ -440,7 +487,15 @@ public final class ClientListener extends Thread implements ClientInfo {
    */
   private void send(final boolean ok) throws IOException {
     out.write(ok ? 0 : 1);
-    out.flush();
+    flush();
+  }
+
+  /**
+   * Flushes the output, unless a batch of requests is currently being processed.
+   * @throws IOException I/O exception
+   */
+  private void flush() throws IOException {
+    if(!batch) out.flush();
   }
 
   /**
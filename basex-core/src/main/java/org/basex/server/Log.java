@@ -39,8 +39,10 @@ public final class Log {
   /** Static options. */
   private final StaticOptions sopts;
 
-  /** Current log file. */
+  /** Current log file (synchronous logging). */
   private LogFile file;
+  /** Buffer for asynchronous logging (created on first access). */
+  private volatile LogBuffer buffer;
 
   /**
    * Constructor.
@@ -56,7 +58,9 @@ public final class Log {
    * @return log file, or {@code null} if it does not exist
    */
   public LogFile file(final String name) {
-    LogFile lf = file;
+    final LogBuffer lb = buffer;
+    if(lb != null) lb.sync();
+    LogFile lf = lb != null ? lb.file() : file;
     if(lf == null || !lf.valid(name)) lf = new LogFile(name, dir());
     return lf.exists() ? lf : null;
   }
@@ -110,36 +114,88 @@ public final class Log {
 
     // construct log text
     final Date date = new Date();
-    final int ml = sopts.get(StaticOptions.LOGMSGMAXLEN);
-    final TokenBuilder tb = new TokenBuilder();
-    tb.add(DateTime.format(date, DateTime.TIME));
-    tb.add('\t').add(address != null ? address : SERVER);
-    tb.add('\t').add(user != null ? user : UserText.ADMIN);
-    tb.add('\t').add(type);
-    tb.add('\t').add(info != null ? chop(normalize(token(info)), ml) : EMPTY);
-    if(perf != null) tb.add('\t').add(perf.toString());
-    tb.add(Prop.NL);
+    final byte[] line = line(date, type, info, perf, address, user,
+        sopts.get(StaticOptions.LOGMSGMAXLEN));
+    final String name = DateTime.format(date, DateTime.DATE);
+
+    // asynchronous logging: add entry to buffer
+    final LogBuffer lb = buffer();
+    if(lb != null) {
+      lb.add(name, line);
+      return;
+    }
 
     try {
       synchronized(sopts) {
         // create new log file and write log entry
-        final String name = DateTime.format(date, DateTime.DATE);
         if(file != null && !file.valid(name)) close();
         if(file == null) file = LogFile.create(name, dir());
         // write log entry
-        file.write(tb.finish());
+        file.write(line);
       }
     } catch(final IOException ex) {
       Util.stack(ex);
     }
   }
 
+  /**
+   * Creates a log line.
+   * @param date date
+   * @param type type (ERROR, OK, REQUEST, INFO, HTTP status code)
+   * @param info info string (can be {@code null})
+   * @param perf performance string (can be {@code null})
+   * @param address address string ({@code SERVER} is written if value is {@code null})
+   * @param user user ({@code admin} is written if value is {@code null})
+   * @param max maximum length of info string
+   * @return log line
+   */
+  static byte[] line(final Date date, final String type, final String info,
+      final Performance perf, final String address, final String user, final int max) {
+    final TokenBuilder tb = new TokenBuilder();
+    tb.add(DateTime.format(date, DateTime.TIME));
+    tb.add('\t').add(address != null ? address : SERVER);
+    tb.add('\t').add(user != null ? user : UserText.ADMIN);
+    tb.add('\t').add(type);
+    tb.add('\t').add(info != null ? chop(normalize(token(info)), max) : EMPTY);
+    if(perf != null) tb.add('\t').add(perf.toString());
+    tb.add(Prop.NL);
+    return tb.finish();
+  }
+
+  /**
+   * Returns the buffer for asynchronous logging. The buffer is created on first access.
+   * @return buffer, or {@code null} if entries are written synchronously
+   */
+  private LogBuffer buffer() {
+    LogBuffer lb = buffer;
+    if(lb == null) {
+      final int size = sopts.get(StaticOptions.LOGBUFFER);
+      if(size <= 0) return null;
+      synchronized(sopts) {
+        lb = buffer;
+        if(lb == null) {
+          // close synchronously written log file
+          close();
+          lb = new LogBuffer(dir(), size, sopts.get(StaticOptions.LOGFLUSH),
+              sopts.get(StaticOptions.LOGDROP));
+          buffer = lb;
+        }
+      }
+    }
+    return lb;
+  }
+
   /**
    * Closes the log file.
    */
   public void close() {
     try {
       synchronized(sopts) {
+        final LogBuffer lb = buffer;
+        if(lb != null) {
+          lb.close();
+          buffer = null;
+        }
         if(file != null) {
           file.close();
           file = null;
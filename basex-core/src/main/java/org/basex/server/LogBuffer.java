@@ -0,0 +1,204 @@
+package org.basex.server;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Asynchronous writer for log entries. Entries are added to a bounded, lock-free ring buffer
+ * by an arbitrary number of threads and written to the daily log files in batches by a single
+ * background thread.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+final class LogBuffer extends Thread {
+  /** Names of the log files of the buffered entries. */
+  private final AtomicReferenceArray<String> names;
+  /** Buffered log lines. */
+  private final AtomicReferenceArray<byte[]> lines;
+  /** Next sequence number to be claimed by a producer. */
+  private final AtomicLong tail = new AtomicLong();
+  /** Number of dropped entries. */
+  private final AtomicLong dropped = new AtomicLong();
+  /** Log directory. */
+  private final IOFile dir;
+  /** Buffer capacity. */
+  private final int capacity;
+  /** Flush interval (ms). */
+  private final long interval;
+  /** Drop entries if the buffer is full (instead of blocking). */
+  private final boolean drop;
+
+  /** Next sequence number to be consumed by the writer. */
+  private volatile long head;
+  /** Number of entries that have been written to disk. */
+  private volatile long written;
+  /** Running flag. */
+  private volatile boolean running = true;
+  /** Current log file (only changed by the writer thread). */
+  private volatile LogFile file;
+
+  /**
+   * Constructor.
+   * @param dir log directory
+   * @param capacity buffer capacity
+   * @param interval flush interval (ms)
+   * @param drop drop entries if the buffer is full (instead of blocking)
+   */
+  LogBuffer(final IOFile dir, final int capacity, final long interval, final boolean drop) {
+    super(Util.className(LogBuffer.class));
+    this.dir = dir;
+    this.capacity = capacity;
+    this.interval = Math.max(1, interval);
+    this.drop = drop;
+    names = new AtomicReferenceArray<>(capacity);
+    lines = new AtomicReferenceArray<>(capacity);
+    setDaemon(true);
+    start();
+  }
+
+  /**
+   * Adds a log entry. If the buffer is full, the entry will either be dropped, or the
+   * calling thread will be blocked until the writer has freed space.
+   * @param name name of the log file
+   * @param line log line
+   */
+  void add(final String name, final byte[] line) {
+    long seq;
+    while(true) {
+      seq = tail.get();
+      if(seq - head >= capacity) {
+        // buffer is full: wake up writer, drop entry or wait
+        LockSupport.unpark(this);
+        if(drop || !running) {
+          dropped.incrementAndGet();
+          return;
+        }
+        LockSupport.parkNanos(100000);
+      } else if(tail.compareAndSet(seq, seq + 1)) {
+        break;
+      }
+    }
+    final int i = (int) (seq % capacity);
+    lines.set(i, line);
+    // publish entry: the name is set last, as it is checked by the writer
+    names.set(i, name);
+    // wake up writer if the buffer is half full
+    if(seq - head >= capacity >> 1) LockSupport.unpark(this);
+  }
+
+  /**
+   * Waits until all entries that have been added so far are written to disk.
+   */
+  void sync() {
+    final long target = tail.get();
+    while(running && written < target) {
+      LockSupport.unpark(this);
+      LockSupport.parkNanos(100000);
+    }
+  }
+
+  /**
+   * Returns the log file that is currently written.
+   * @return log file or {@code null}
+   */
+  LogFile file() {
+    return file;
+  }
+
+  /**
+   * Writes all pending entries and stops the writer.
+   */
+  void close() {
+    sync();
+    running = false;
+    LockSupport.unpark(this);
+    try {
+      join();
+    } catch(final InterruptedException ex) {
+      Util.debug(ex);
+    }
+  }
+
+  @Override
+  public void run() {
+    final ByteList bl = new ByteList();
+    while(running) {
+      drain(bl);
+      LockSupport.parkNanos(interval * 1000000);
+    }
+    drain(bl);
+    try {
+      closeFile();
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+  }
+
+  /**
+   * Writes all published entries to disk.
+   * @param bl byte list (reused)
+   */
+  private void drain(final ByteList bl) {
+    final long drops = dropped.getAndSet(0);
+    String current = null;
+    long h = head;
+    try {
+      while(true) {
+        final int i = (int) (h % capacity);
+        final String name = names.get(i);
+        // stop at first entry that has not been published yet
+        if(name == null) break;
+        if(current != null && !current.equals(name)) {
+          write(current, bl);
+          written = h;
+        }
+        current = name;
+        bl.add(lines.get(i));
+        names.set(i, null);
+        lines.set(i, null);
+        head = ++h;
+      }
+      if(drops != 0) {
+        final Date date = new Date();
+        if(current == null) current = DateTime.format(date, DateTime.DATE);
+        bl.add(Log.line(date, Log.LogType.ERROR.toString(), drops + " log entries were dropped.",
+            null, null, null, Integer.MAX_VALUE));
+      }
+      if(current != null) write(current, bl);
+    } catch(final IOException ex) {
+      Util.stack(ex);
+      bl.reset();
+    }
+    written = h;
+  }
+
+  /**
+   * Writes the collected lines to the specified log file.
+   * @param name name of log file
+   * @param bl collected lines (will be reset)
+   * @throws IOException I/O exception
+   */
+  private void write(final String name, final ByteList bl) throws IOException {
+    if(file != null && !file.valid(name)) closeFile();
+    if(file == null) file = LogFile.create(name, dir);
+    file.write(bl.next());
+  }
+
+  /**
+   * Closes the current log file.
+   * @throws IOException I/O exception
+   */
+  private void closeFile() throws IOException {
+    if(file != null) {
+      file.close();
+      file = null;
+    }
+  }
+}
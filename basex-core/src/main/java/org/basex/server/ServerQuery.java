@@ -128,7 +128,11 @@ public final class ServerQuery extends Job {
       // iterate through results
       int c = 0;
       final PrintOutput po = PrintOutput.get(encode ? new ServerOutput(out) : out);
-      final SerializerOptions sopts = full ? SerializerMode.API.get() : qc.serParams();
+      // binary XDM results are decoded by the client: keep the method in full mode
+      SerializerOptions sopts = qc.serParams();
+      if(full && sopts.get(SerializerOptions.METHOD) != SerialMethod.XDM) {
+        sopts = SerializerMode.API.get();
+      }
       try(Serializer ser = Serializer.get(po, sopts)) {
         for(Item item; (item = qc.next(iter)) != null;) {
           if(iterative) {
@@ -17,6 +17,8 @@ public final class Array {
   public static final int CAPACITY = 1 << 3;
   /** Default factor for resizing dynamic arrays. */
   public static final double RESIZE = 1.5;
+  /** Maximum array size (some virtual machines reserve header words in arrays). */
+  public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
   /** Private constructor. */
   private Array() { }
 
@@ -1,6 +1,5 @@
 package org.basex.util.http;
 
-import static java.net.HttpURLConnection.*;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 import static org.basex.util.http.HttpText.*;
@@ -37,6 +36,9 @@ import org.basex.util.options.Options.*;
  * @author Michael Seiferle
  */
 public final class HttpClient {
+  /** Maximum number of redirects that are followed manually. */
+  private static final int MAX_REDIRECTS = 20;
+
   /** Input information. */
   private final InputInfo info;
   /** Database options. */
@@ -65,27 +67,52 @@ public final class HttpClient {
 
     final HttpRequest req = new HttpRequestParser(info).parse(request, bodies);
     HttpURLConnection conn = null;
+    boolean disconnect = true;
     try {
       // parse request data, set properties
       final String mediaType = req.attribute(OVERRIDE_MEDIA_TYPE);
-      final String status = req.attribute(STATUS_ONLY);
+      final String status = req.attribute(STATUS_ONLY), stream = req.attribute(STREAM);
       final boolean body = status == null || !Strings.yes(status);
-      final String url = href == null || href.length == 0 ? req.attribute(HREF) : string(href);
+      final boolean lazy = stream != null && Strings.yes(stream);
+      String url = href == null || href.length == 0 ? req.attribute(HREF) : string(href);
 
       if(url == null || url.isEmpty()) throw HC_URL.get(info);
-      conn = connect(url, req);
-
-      if(!req.payload.isEmpty() || !req.parts.isEmpty()) {
-        setContentType(conn, req);
-        writePayload(conn.getOutputStream(), req);
+      final String src = req.isMultipart ? null : req.payloadAtts.get(SRC);
+      boolean payload = !req.payload.isEmpty() || !req.parts.isEmpty() || src != null;
+      for(int r = 0;; r++) {
+        conn = connect(url, req);
+        boolean streaming = false;
+        if(payload) {
+          setContentType(conn, req);
+          streaming = setStreaming(conn, req, src);
+          writePayload(conn.getOutputStream(), req);
+        }
+        // streamed request bodies: follow redirects manually
+        final String location = streaming ? location(conn, req) : null;
+        if(location == null) break;
+        if(r == MAX_REDIRECTS) throw new ProtocolException("Too many redirects: " + r);
+
+        // as in HttpURLConnection, POST is changed to GET unless the status is 307 or 308
+        final int code = conn.getResponseCode();
+        if(code != 307 && code != 308 && HttpMethod.POST.name().equals(req.attribute(METHOD))) {
+          req.attributes.put(METHOD, HttpMethod.GET.name());
+          payload = false;
+        }
+        url = new URL(conn.getURL(), location).toString();
+        conn.disconnect();
       }
 
-      return new HttpResponse(info, options).getResponse(conn, body, mediaType).iter();
+      final Value response = new HttpResponse(info, options).getResponse(conn, body, mediaType,
+          lazy);
+      // streamed response body: connection will be closed when the body has been consumed
+      disconnect = !lazy;
+      return response.iter();
 
     } catch(final IOException ex) {
       throw HC_ERROR_X.get(info, ex);
     } finally {
-      if(conn != null) conn.disconnect();
+      // no effect if the response streams have been closed: connection will be kept alive
+      if(conn != null && disconnect) conn.disconnect();
     }
   }
 
@@ -197,7 +224,7 @@ public final class HttpClient {
         conn.setReadTimeout(Strings.toInt(timeout) * 1000);
       }
       final String redirect = request.attribute(FOLLOW_REDIRECT);
-      if(redirect != null) setFollowRedirects(Strings.yes(redirect));
+      if(redirect != null) conn.setInstanceFollowRedirects(Strings.yes(redirect));
 
       request.headers.forEach(conn::addRequestProperty);
     }
@@ -226,6 +253,62 @@ public final class HttpClient {
     conn.setRequestProperty(CONTENT_TYPE, ct);
   }
 
+  /**
+   * Enables streaming of the request body if its contents are not available in main memory.
+   * Otherwise, the connection would cache the complete body before sending it.
+   * As streamed bodies cannot be resent by the connection, redirects must then be followed
+   * manually (see {@link #location(HttpURLConnection, HttpRequest)}).
+   * @param conn HTTP connection
+   * @param request request data
+   * @param src linked resource (can be {@code null})
+   * @return {@code true} if streaming has been enabled
+   */
+  private static boolean setStreaming(final HttpURLConnection conn, final HttpRequest request,
+      final String src) {
+
+    // linked resource or lazy items (e.g., streamable binaries)
+    boolean stream = src != null;
+    if(!stream && !request.isMultipart) {
+      for(final Item item : request.payload) {
+        if(item instanceof Lazy && !((Lazy) item).isCached()) {
+          stream = true;
+          break;
+        }
+      }
+    }
+    if(!stream) return false;
+
+    // send with fixed length if it is known, or in chunks
+    final long length = src != null ? IO.get(src).length() : 0;
+    if(length > 0) conn.setFixedLengthStreamingMode(length);
+    else conn.setChunkedStreamingMode(0);
+    conn.setInstanceFollowRedirects(false);
+    return true;
+  }
+
+  /**
+   * Returns the location of a redirect that needs to be followed. The same status codes
+   * are considered as by {@link HttpURLConnection}, and 308 (permanent redirect).
+   * @param conn HTTP connection
+   * @param request request data
+   * @return location or {@code null}
+   * @throws IOException I/O exception
+   */
+  private static String location(final HttpURLConnection conn, final HttpRequest request)
+      throws IOException {
+
+    final String redirect = request.attribute(FOLLOW_REDIRECT);
+    if(redirect == null ? !HttpURLConnection.getFollowRedirects() : !Strings.yes(redirect))
+      return null;
+
+    switch(conn.getResponseCode()) {
+      case 300: case 301: case 302: case 303: case 307: case 308:
+        return conn.getHeaderField(LOCATION);
+      default:
+        return null;
+    }
+  }
+
   /**
    * Parses the header for digest authentication.
    * @param auth authorization string
@@ -319,7 +402,10 @@ public final class HttpClient {
 
       // send specified source
       if(key.equals(SRC)) {
-        out.write(IO.get(value).read());
+        try(InputStream in = IO.get(value).inputStream()) {
+          final byte[] buffer = new byte[IO.BLOCKSIZE];
+          for(int r; (r = in.read(buffer)) != -1;) out.write(buffer, 0, r);
+        }
         return;
       }
 
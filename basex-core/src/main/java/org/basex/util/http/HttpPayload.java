@@ -104,6 +104,20 @@ public final class HttpPayload {
     return body.add(SerializerOptions.MEDIA_TYPE.name(), type.type());
   }
 
+  /**
+   * Returns a result body element and adds the HTTP payload as streamable binary item.
+   * The payload can only be consumed once.
+   * @param type media type
+   * @param encoding content encoding
+   * @return body element
+   * @throws IOException I/O exception
+   */
+  FElem stream(final MediaType type, final String encoding) throws IOException {
+    final InputStream in = GZIP.equals(encoding) ? new GZIPInputStream(input) : input;
+    payloads.add(new B64Lazy(new IOStream(in), HC_ERROR_X));
+    return new FElem(Q_BODY).add(SerializerOptions.MEDIA_TYPE.name(), type.type());
+  }
+
   /**
    * Returns all payloads.
    * @return payloads
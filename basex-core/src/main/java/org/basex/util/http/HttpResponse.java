@@ -45,9 +45,24 @@ public final class HttpResponse {
    * @throws IOException I/O Exception
    * @throws QueryException query exception
    */
-  @SuppressWarnings("resource")
   public Value getResponse(final HttpURLConnection conn, final boolean body, final String mtype)
       throws IOException, QueryException {
+    return getResponse(conn, body, mtype, false);
+  }
+
+  /**
+   * Constructs http:response element and reads HTTP response content.
+   * @param conn HTTP connection
+   * @param body also return body
+   * @param mtype media type provided by the user (can be {@code null})
+   * @param stream return single-part bodies of successful responses as streamable binaries
+   * @return result sequence of http:response and content items
+   * @throws IOException I/O Exception
+   * @throws QueryException query exception
+   */
+  @SuppressWarnings("resource")
+  public Value getResponse(final HttpURLConnection conn, final boolean body, final String mtype,
+      final boolean stream) throws IOException, QueryException {
 
     // result
     final ItemList items = new ItemList();
@@ -87,11 +102,14 @@ public final class HttpResponse {
         new MediaType(ctype) : new MediaType(mtype);
 
       final HttpPayload hp = new HttpPayload(is, body, info, options);
+      final String encoding = conn.getHeaderField(CONTENT_ENCODING);
+      final boolean lazy = stream && body && !error && !type.isMultipart();
       try {
-        response.add(hp.parse(type, error, conn.getHeaderField(CONTENT_ENCODING)));
+        response.add(lazy ? hp.stream(type, encoding) : hp.parse(type, error, encoding));
         if(body) items.add(hp.payloads());
       } finally {
-        is.close();
+        // streamed body: input will be closed when it has been consumed
+        if(!lazy) is.close();
       }
     }
     return items.value();
@@ -34,6 +34,10 @@ public interface HttpText {
   String LOCATION = "Location";
   /** HTTP header string. */
   String ACCEPT = "Accept";
+  /** HTTP header string. */
+  String ETAG = "ETag";
+  /** HTTP header string. */
+  String IF_NONE_MATCH = "If-None-Match";
 
   /** HTTP basic authentication. */
   String BASIC = "Basic";
@@ -111,6 +115,7 @@ public interface HttpText {
     /** Opaque. */ OPAQUE,
     /** Cnonce. */ CNONCE,
     /** Method. */ METHOD,
+    /** Stream. */ STREAM,
     /** Timeout. */ TIMEOUT,
     /** Response. */ RESPONSE,
     /** Password. */ PASSWORD,
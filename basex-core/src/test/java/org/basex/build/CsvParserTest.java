@@ -147,4 +147,21 @@ public final class CsvParserTest extends SandboxTest {
     execute(new CreateDB(NAME, FILE));
     assertEquals("true", query("exists(//entry[@name = 'Name'])"));
   }
+
+  /**
+   * Parses the input in a separate thread.
+   */
+  @Test
+  public void parallel() {
+    copts.set(CsvOptions.HEADER, true);
+    execute(new CreateDB(NAME, FILE));
+    final String expected = query(".");
+    set(MainOptions.PARALLELPARSE, true);
+    try {
+      execute(new CreateDB(NAME, FILE));
+      assertEquals(expected, query("."));
+    } finally {
+      set(MainOptions.PARALLELPARSE, false);
+    }
+  }
 }
@@ -0,0 +1,133 @@
+package org.basex.build;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.build.json.*;
+import org.basex.build.json.JsonOptions.*;
+import org.basex.core.*;
+import org.basex.core.MainOptions.MainParser;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * JSON Parser Test.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonParserTest extends SandboxTest {
+  /** JSON options. */
+  private JsonParserOptions jopts;
+
+  /** Temporary JSON file. */
+  private static final String TEMP = Prop.TEMPDIR + NAME + IO.JSONSUFFIX;
+  /** JSON input. */
+  private static final String JSON =
+      "{ \"a\": 1, \"b\": [ true, null, \"x\\\\y\", { \"c d\": \" s \" } ], \"e\": {} }";
+
+  /**
+   * Creates the initial database.
+   */
+  @BeforeClass
+  public static void before() {
+    set(MainOptions.PARSER, MainParser.JSON);
+  }
+
+  /**
+   * Removes the temporary JSON file.
+   */
+  @AfterClass
+  public static void after() {
+    new IOFile(TEMP).delete();
+  }
+
+  /**
+   * Sets initial options.
+   */
+  @Before
+  public void init() {
+    jopts = new JsonParserOptions();
+    context.options.set(MainOptions.JSONPARSER, jopts);
+    set(MainOptions.CHOP, false);
+    write(new IOFile(TEMP), JSON);
+  }
+
+  /**
+   * Drops the database.
+   */
+  @After
+  public void finish() {
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Direct format.
+   */
+  @Test
+  public void direct() {
+    check(JsonFormat.DIRECT);
+    assertEquals("c_0020d", query("name(//_[@type = 'object']/*)"));
+  }
+
+  /**
+   * Attributes format.
+   */
+  @Test
+  public void attributes() {
+    check(JsonFormat.ATTRIBUTES);
+    assertEquals("object", query("/json/pair[@name = 'e']/@type/data()"));
+  }
+
+  /**
+   * Basic format.
+   */
+  @Test
+  public void basic() {
+    check(JsonFormat.BASIC);
+    jopts.set(JsonParserOptions.ESCAPE, true);
+    check(JsonFormat.BASIC);
+    assertEquals("true", query("//*:string[. = 'x\\\\y']/@escaped/data()"));
+  }
+
+  /**
+   * Merged type information (requires intermediate node tree).
+   */
+  @Test
+  public void merge() {
+    jopts.set(JsonOptions.MERGE, true);
+    check(JsonFormat.DIRECT);
+    assertEquals("json e", query("/json/@objects/data()"));
+  }
+
+  /**
+   * Whitespace chopping.
+   */
+  @Test
+  public void chop() {
+    set(MainOptions.CHOP, false);
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("3", query("string-length(//c_0020d)"));
+    set(MainOptions.CHOP, true);
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("1", query("string-length(//c_0020d)"));
+  }
+
+  /**
+   * Creates a database with the specified format and compares it with the result of the
+   * in-memory conversion.
+   * @param format format
+   */
+  private void check(final JsonFormat format) {
+    jopts.set(JsonOptions.FORMAT, format);
+    execute(new CreateDB(NAME, TEMP));
+    final String options = "map { 'format': '" + format +
+        "', 'merge': " + jopts.get(JsonOptions.MERGE) +
+        "(), 'escape': " + jopts.get(JsonParserOptions.ESCAPE) + "() }";
+    assertEquals("true", query("deep-equal(/*, json:parse(" +
+        "file:read-text('" + TEMP + "'), " + options + ")/*)"));
+  }
+}
@@ -34,6 +34,7 @@ public final class XMLParserTest extends SandboxTest {
     set(MainOptions.STRIPNS, false);
     set(MainOptions.SERIALIZER, new SerializerOptions());
     set(MainOptions.INTPARSE, true);
+    set(MainOptions.PARALLELPARSE, false);
   }
 
   /**
@@ -115,4 +116,59 @@ public final class XMLParserTest extends SandboxTest {
       assertEquals("Internal parser: " + b, out, query("."));
     }
   }
+
+  /**
+   * Compares the results of the internal and the default parser for long texts and attribute
+   * values, which are copied in bulk by the internal parser.
+   */
+  @Test
+  public void longText() {
+    set(MainOptions.CHOP, false);
+    final StringBuilder sb = new StringBuilder("<x>");
+    for(int i = 0; i < 10000; i++) {
+      sb.append("<a b='").append(i).append(" \u00e4\n&amp;\"'>");
+      sb.append("text \u20ac\r\n\ud83d\ude00 ] &lt; ").append(i).append("</a>");
+    }
+    final String in = sb.append("</x>").toString();
+
+    set(MainOptions.INTPARSE, false);
+    execute(new CreateDB(NAME, in));
+    final String out = query(".");
+    set(MainOptions.INTPARSE, true);
+    execute(new CreateDB(NAME, in));
+    assertEquals(out, query("."));
+  }
+
+  /**
+   * Tests the asynchronous scanning of tokens (Option {@link MainOptions#PARALLELPARSE}).
+   */
+  @Test
+  public void parallelParse() {
+    final StringBuilder sb = new StringBuilder("<x>");
+    for(int i = 0; i < 10000; i++) {
+      sb.append("<a b='").append(i).append("'>").append(i).append("</a>");
+    }
+    final String in = sb.append("</x>").toString();
+
+    set(MainOptions.INTPARSE, true);
+    execute(new CreateDB(NAME, in));
+    final String out = query(".");
+    set(MainOptions.PARALLELPARSE, true);
+    execute(new CreateDB(NAME, in));
+    assertEquals(out, query("."));
+
+    // errors in the last batch of tokens
+    final String[] docs = {
+        in.replace("</a><a b='9999'>", "</b><a b='9999'>"),
+        in.replace("<a b='9999'>", "<a b='9999>"), in.replace("</x>", "")
+    };
+    for(final String doc : docs) {
+      try {
+        new CreateDB(NAME, doc).execute(context);
+        fail("Error expected.");
+      } catch(final BaseXException ex) {
+        // expected
+      }
+    }
+  }
 }
@@ -106,4 +106,16 @@ public final class SerializerTest extends AdvancedQueryTest {
     query(option + "<a xml:space='default'>T<b/></a>", "<a xml:space=\"default\">T<b/></a>");
     query(option + "<a xml:space='x'>T<b/></a>", "<a xml:space=\"x\">T<b/></a>");
   }
+
+  /** Test: escaping of characters. */
+  @Test
+  public void escape() {
+    query("<a b='x&quot;y&#9;z&lt;'>x&amp;y&lt;z&gt;&#x85;&#x2028;</a>",
+        "<a b=\"x&quot;y&#x9;z&lt;\">x&amp;y&lt;z&gt;&#x85;&#x2028;</a>");
+    query(SerializerOptions.METHOD.arg("text") + "'a&amp;b&lt;c'", "a&b<c");
+    query(SerializerOptions.USE_CHARACTER_MAPS.arg("b=X") + "<a b='b'>abc&amp;b</a>",
+        "<a b=\"X\">aXc&amp;X</a>");
+    query(SerializerOptions.ENCODING.arg("US-ASCII") + "<a>a&#xe4;&amp;</a>",
+        "<a>a&#xE4;&amp;</a>");
+  }
 }
@@ -60,4 +60,51 @@ public final class AnnotationsTest extends AdvancedQueryTest {
     error("declare %output:method function local:x() { 1 }; 1", BASEX_ANNOTATION2_X_X);
     error("declare %output:method(1) function local:x() { 1 }; 1", BASEX_ANNOTATION_X_X_X);
   }
+
+  /** Memoized functions. */
+  @Test
+  public void memoize() {
+    final String fib = "declare %basex:memoize function local:fib($n) { " +
+        "if($n < 2) then $n else local:fib($n - 1) + local:fib($n - 2) };";
+    query(fib + "local:fib(90)", "2880067194370816120");
+
+    // arguments: types and node identities
+    final String s = "declare %basex:memoize function local:s($x) { $x instance of xs:integer };";
+    query(s + "(local:s(1), local:s(1.0), local:s(1))", "true\nfalse\ntrue");
+    final String n = "declare %basex:memoize function local:n($x) { name($x) };";
+    query(n + "let $d := <r><a/><b/></r> return ($d/*, $d/*) ! local:n(.)", "a\nb\na\nb");
+    query("declare %basex:memoize(2) function local:m($x) { $x * 2 };" +
+        "(1 to 5, 1 to 5) ! local:m(.)", "2\n4\n6\n8\n10\n2\n4\n6\n8\n10");
+
+    // results are not cached for node constructions and errors
+    query("declare %basex:memoize function local:c($x) { <a/> }; local:c(1) is local:c(1)", false);
+    query("declare %basex:memoize function local:e($x) { if($x) then error() else 1 };" +
+        "(1 to 2) ! (try { local:e(true()) } catch * { 'e' })", "e\ne");
+    query("declare %basex:memoize function local:j($s) { json:parse($s) };" +
+        "local:j('{}') is local:j('{}')", false);
+    query("declare %basex:memoize function local:v($s) { csv:parse($s) };" +
+        "local:v('a') is local:v('a')", false);
+    query("declare %basex:memoize function local:h($s) { html:parse($s) };" +
+        "local:h('<a/>') is local:h('<a/>')", false);
+    // nodes created by functions without static node construction flag
+    final String mark = "ft:mark($x[text() contains text 'x'])";
+    query("declare %basex:memoize function local:f($x) { " + mark + " };" +
+        "let $a := parse-xml('<a>x</a>')/a return local:f($a) is local:f($a)", false);
+    query("declare %basex:memoize function local:g($x) { map { 'a': " + mark + " } };" +
+        "let $a := parse-xml('<a>x</a>')/a return local:g($a)?a is local:g($a)?a", false);
+    // argument nodes
+    query("declare %basex:memoize function local:a($x) { $x/a };" +
+        "let $r := <r><a/></r> return local:a($r) is local:a($r)", true);
+
+    // large arguments are not cached
+    query("declare %basex:memoize function local:l($x) { count($x) };" +
+        "local:l(1 to 100000000000)", 100000000000L);
+    // invalid cache size
+    error("declare %basex:memoize(0) function local:z($x) { $x }; local:z(1)",
+        BASEX_ANNOTATION_X_X_X);
+
+    // tail calls
+    query("declare %basex:memoize function local:t($n) { if($n = 0) then 'x' else " +
+        "local:t($n - 1) }; local:t(10000), local:t(10000)", "x\nx");
+  }
 }
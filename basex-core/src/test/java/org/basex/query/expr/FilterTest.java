@@ -293,4 +293,15 @@ public final class FilterTest extends AdvancedQueryTest {
     query("collection('" + NAME + "')[2]", "<two/>");
     query("db:open('" + NAME + "')[2]", "<two/>");
   }
+
+  /** Range predicates on numeric sequences. */
+  @Test public void numeric() {
+    query("(1 to 10)[. > 7.5]", "8\n9\n10");
+    query("reverse(1 to 10)[. >= 3][. < 6]", "5\n4\n3");
+    query("let $s := (1 to 10) ! (. * 2) return $s[. < 7]", "2\n4\n6");
+    query("let $s := (1 to 10) ! (. * 2) return $s[. = 8]", "8");
+    query("let $s := (1 to 10) ! (. * 2) return $s[. = 8.5]", "");
+    query("let $s := (1 to 10) ! (. div 4e0) return $s[. > 2]", "2.25\n2.5");
+    query("let $s := (1 to 10) ! (. div 4e0) return count($s[. <= 1])", 4);
+  }
 }
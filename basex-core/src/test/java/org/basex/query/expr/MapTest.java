@@ -95,4 +95,23 @@ public final class MapTest extends AdvancedQueryTest {
   @Test public void atomKey() {
     query("map {'x':42}(['x'])", 42);
   }
+
+  /** Keys of different types that are identical. */
+  @Test public void sameKeys() {
+    final String map = "map { 1: 'a', 1.5: 'b', xs:double(2): 'c', 'x': 'd', "
+        + "QName('U', 'x'): 'e' }";
+    query(map + "(1.0)", "a");
+    query(map + "(xs:double(1))", "a");
+    query(map + "(xs:byte(1))", "a");
+    query(map + "(xs:float(1.5))", "b");
+    query(map + "(2)", "c");
+    query(map + "(xs:untypedAtomic('x'))", "d");
+    query(map + "(xs:anyURI('x'))", "d");
+    query(map + "(QName('U', 'p:x'))", "e");
+    query(map + "(QName('V', 'x'))", "");
+    query(map + "(-1)", "");
+    query("let $n := xs:integer(<_>10000</_>) "
+        + "let $m := map:merge(for $i in 1 to $n return map { $i: $i }) "
+        + "return sum(for $i in 1 to $n return $m(xs:double($i)))", 50005000);
+  }
 }
@@ -172,4 +172,19 @@ public final class MixedTest extends AdvancedQueryTest {
     query("db:open('" + NAME + "')/*/* union db:open('" + NAME + "2')/*/*",
         "<n1a/>\n<n1b/>\n<n2a/>\n<n2b/>");
   }
+
+  /** Type checks of function arguments with changing item types. */
+  @Test
+  public void typeCheck() {
+    final String f = "declare function local:f($a as xs:double) { $a div 0 };";
+    query(f + "for $x in (1, 2.5, xs:float(3), 4e0, <a>5</a>, 6) return local:f($x)",
+        "INF\nINF\nINF\nINF\nINF\nINF");
+    error(f + "for $x in (1, 2, 'x') return local:f($x)", INVTYPE_X_X_X);
+    error(f + "for $x in (<a>1</a>, <a>x</a>) return local:f($x)", FUNCCAST_X_X);
+
+    final String g = "declare function local:g($a as xs:integer?) { $a };";
+    query(g + "for $x in (1, 2) return local:g($x)", "1\n2");
+    error(g + "for $x in (1, 2, 3.5) return local:g($x)", INVTYPE_X_X_X);
+    error(g + "local:g((1, 2)[. > 0])", INVTYPE_X_X_X);
+  }
 }
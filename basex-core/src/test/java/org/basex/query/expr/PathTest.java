@@ -1,5 +1,7 @@
 package org.basex.query.expr;
 
+import static org.basex.query.func.Function.*;
+
 import org.basex.core.cmd.*;
 import org.basex.query.*;
 import org.junit.*;
@@ -260,4 +262,29 @@ public final class PathTest extends AdvancedQueryTest {
     query(".[/a]", "<a/>");
     query(".[/b]", "<b/>");
   }
+
+  /**
+   * Lazy evaluation of paths on all documents of a database.
+   */
+  @Test public void lazyNames() {
+    execute(new CreateDB(NAME, "<r><a><a><b/></a></a><b><c i='1'/></b></r>"));
+    execute(new Add("d2.xml", "<r><c i='2'/><c i='3'/></r>"));
+    execute(new Optimize());
+    final String db = _DB_OPEN.args(" <_>" + NAME + "</_>");
+
+    query("count(" + db + "//a)", 2);
+    query("count(" + db + "//b)", 2);
+    query("count(" + db + "/r/b)", 1);
+    query("count(" + db + "//c)", 3);
+    query("count(" + db + "//x)", 0);
+    query("subsequence(" + db + "//c, 2, 2)/@i/string()", "2\n3");
+    query("(" + db + "//c)[last()]/@i/string()", 3);
+    query("reverse(" + db + "//c) ! @i/string()", "3\n2\n1");
+    query("let $c := " + db + "//c return $c[2]/@i/string()", 2);
+    query("count(" + _DB_OPEN.args(" <_>" + NAME + "</_>", "d2.xml") + "//c)", 2);
+    // iteration, mixed with random access
+    query("for $c in " + db + "//c return $c/@i/string()", "1\n2\n3");
+    query("let $c := " + db + "//c return ($c[2], $c) ! @i/string()", "2\n1\n2\n3");
+    query("for $a in " + db + "//a return count($a//a)", "1\n0");
+  }
 }
@@ -2,6 +2,7 @@ package org.basex.query.expr;
 
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
 
 import org.basex.query.ast.*;
 import org.basex.query.expr.constr.*;
@@ -85,4 +86,40 @@ public final class SimpleMapTest extends QueryPlanTest {
     check("(1 to 2) ! util:replicate('a', 2) ! util:replicate('a', 2)", "a\na\na\na\na\na\na\na",
         exists(SingletonSeq.class) + " and .//@size = 8");
   }
+
+  /** Arithmetic operations and aggregations on numeric sequences. */
+  @Test public void numeric() {
+    final String ints = "let $s := (1 to 6) ! (. * 3) return ";
+    query(ints + "$s", "3\n6\n9\n12\n15\n18");
+    query(ints + "$s ! (. - 10) ! (100 idiv .) ! (. mod 7)", "0\n-4\n-2\n1\n6\n5");
+    query(ints + "($s ! (. div 2), $s ! (. div 2) ! (. * 2))",
+        "1.5\n3\n4.5\n6\n7.5\n9\n3\n6\n9\n12\n15\n18");
+    query(ints + "(sum($s), avg($s), min($s), max($s), $s = 9, $s = 10)",
+        "63\n10.5\n3\n18\ntrue\nfalse");
+
+    final String dbls = "let $s := (1 to 6) ! (. * 0.5e0) ! (1 - .) return ";
+    query(dbls + "$s", "0.5\n0\n-0.5\n-1\n-1.5\n-2");
+    query(dbls + "(sum($s), avg($s), min($s), max($s), $s = -1, $s = 1)",
+        "-4.5\n-0.75\n-2\n0.5\ntrue\nfalse");
+    query(dbls + "$s ! (1 div .)", "2\nINF\n-2\n-1\n-0.6666666666666666\n-0.5");
+    query(dbls + "min($s ! (. div 0))", "NaN");
+
+    // errors are raised by item-wise evaluation
+    error("(1 to 6) ! (. idiv 0)", DIVZERO_X);
+    error("(1 to 6) ! (. * 9223372036854775807)", RANGE_X);
+    error("sum((1 to 6) ! (. + 9223372036854775800))", RANGE_X);
+  }
+
+  /** Arithmetic operations on ranges that exceed the maximum array size. */
+  @Test public void numericLarge() {
+    final Int one = Int.get(1);
+    assertEquals(6, NumericBatch.calc(RangeSeq.get(1, 6, true), Calc.PLUS, one, false).size());
+    // batch evaluation is skipped, items will be evaluated one by one
+    for(final long size : new long[] { 3000000000L, 4294967301L }) {
+      final RangeSeq seq = (RangeSeq) RangeSeq.get(1, size, true);
+      assertNull(NumericBatch.calc(seq, Calc.PLUS, one, false));
+      assertNull(NumericBatch.calc(seq, Calc.MULT, Dbl.get(2), true));
+    }
+    query("head((1 to 3000000000) ! (. + 1))", 2);
+  }
 }
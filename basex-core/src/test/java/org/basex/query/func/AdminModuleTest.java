@@ -3,8 +3,13 @@ package org.basex.query.func;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 
+import java.util.*;
+
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.query.*;
+import org.basex.server.*;
+import org.basex.util.*;
 import org.junit.*;
 import org.junit.Test;
 
@@ -52,4 +57,23 @@ public final class AdminModuleTest extends AdvancedQueryTest {
     // no logging data exists in the sandbox
     error(_ADMIN_DELETE_LOGS.args("2001-01-01"), WHICHRES_X);
   }
+
+  /** Test method. */
+  @Test
+  public void writeLogBuffered() {
+    final String name = DateTime.format(new Date(), DateTime.DATE);
+    context.soptions.set(StaticOptions.LOGBUFFER, 16);
+    try {
+      // all entries must be written, although the buffer is smaller
+      query("for $i in 1 to 100 return " + _ADMIN_WRITE_LOG.args(" 'buffered' || $i"));
+      query("count(" + _ADMIN_LOGS.args(name) + "[starts-with(., 'buffered')])", 100);
+      query("(" + _ADMIN_LOGS.args(name) + "[starts-with(., 'buffered')])[last()]/string()",
+          "buffered100");
+    } finally {
+      context.soptions.set(StaticOptions.LOGBUFFER, 0);
+      context.log.close();
+      final LogFile file = context.log.file(name);
+      if(file != null) file.delete();
+    }
+  }
 }
@@ -43,6 +43,24 @@ public final class CsvModuleTest extends AdvancedQueryTest {
     parse("X\nY", "'header':true(),'format':'xquery'", "...\"names\": [\"X\"]");
   }
 
+  /** Test method. */
+  @Test public void parseTypes() {
+    final String types = "?records?*!array:flatten(.)!(typeswitch(.) case xs:integer return 'i' "
+        + "case xs:double return 'd' case xs:date return 't' default return 's') "
+        + "=> string-join(' ')";
+    query(_CSV_PARSE.args("1,1.5,2018-01-01,X\n2,,2018-12-31,",
+        " map { 'format': 'xquery', 'infer': true() }") + types, "i d t s i t s");
+    query(_CSV_PARSE.args("1,1.5,2018-01-01,X\nA,2,,",
+        " map { 'format': 'xquery', 'infer': true() }") + types, "s d t s s d s");
+    query(_CSV_PARSE.args("1,2,3", " map { 'format': 'xquery', 'types': 'xs:string,double' }")
+        + types, "s d s");
+    query(_CSV_PARSE.args("1,2,3", " map { 'format': 'xquery', 'types': ',,integer' }")
+        + types, "s s i");
+
+    error(_CSV_PARSE.args("X", " map { 'format': 'xquery', 'types': 'integer' }"), FUNCCAST_X_X_X);
+    error(_CSV_PARSE.args("X", " map { 'types': 'unknown' }"), INVALIDOPT_X);
+  }
+
   /** Test method. */
   @Test public void serializeXml() {
     serial("<csv><record><A__>1</A__></record></csv>", "'header':true(),'lax':false()", "A_\n1\n");
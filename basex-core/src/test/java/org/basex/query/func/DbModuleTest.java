@@ -323,6 +323,13 @@ public final class DbModuleTest extends AdvancedQueryTest {
     query(func.args(NAME, XML, "C3.xml", addcache));
     query("exists(" + _DB_OPEN.args(NAME, "C3.xml") + ")", true);
 
+    // parse binary items
+    query(func.args(NAME, _FILE_READ_BINARY.args(XML), "B1.xml", addcache));
+    query("exists(" + _DB_OPEN.args(NAME, "B1.xml") + "/html)", true);
+    query(func.args(NAME, " xs:base64Binary('PGE+QjwvYT4=')", "B2.xml"));
+    query(_DB_OPEN.args(NAME, "B2.xml"), "<a>B</a>");
+    error(func.args(NAME, " xs:base64Binary('PGE+QjwvYT4=')"), RESINV_X);
+
     error(func.args(NAME, CSV, "csv.xml",
         " map { 'parser':('csv','html') }"), INVALIDOPT_X);
     error(func.args(NAME, CSV, "csv.xml",
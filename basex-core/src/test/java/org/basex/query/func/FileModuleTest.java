@@ -352,8 +352,14 @@ public final class FileModuleTest extends AdvancedQueryTest {
     query(_FILE_READ_TEXT.args(PATH1), "0");
     query(_FILE_WRITE_BINARY.args(PATH1, bin, 1));
     query(_FILE_READ_TEXT.args(PATH1), "00");
+    // copy lazy binary item
+    query(_FILE_WRITE_BINARY.args(PATH2, " " + _FILE_READ_BINARY.args(PATH1)));
+    query(_FILE_READ_TEXT.args(PATH2), "00");
+    query(_FILE_APPEND_BINARY.args(PATH2, " " + _FILE_READ_BINARY.args(PATH1)));
+    query(_FILE_READ_TEXT.args(PATH2), "0000");
     // delete size
     query(_FILE_DELETE.args(PATH1));
+    query(_FILE_DELETE.args(PATH2));
   }
 
   /** Test method. */
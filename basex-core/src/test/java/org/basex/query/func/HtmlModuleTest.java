@@ -32,4 +32,30 @@ public final class HtmlModuleTest extends AdvancedQueryTest {
     // check if the function returns <html/>
     query(func.args("&lt;html/&gt;", " map {'nons': true()}"), "<html/>");
   }
+
+  /** Test method. */
+  @Test
+  public void parseNamespaces() {
+    final Function func = _HTML_PARSE;
+    final String options = " map {'nons': false()}";
+    query("namespace-uri(" + func.args("&lt;html/&gt;", options) + "/*)",
+        "http://www.w3.org/1999/xhtml");
+    query(func.args("&lt;html xml:lang='en'/&gt;", options) + "/*/@xml:lang/string()", "en");
+    // prefixes of names without namespace are removed
+    query(func.args("&lt;html&gt;&lt;svg:a/&gt;&lt;/html&gt;") + "//*:a ! name()", "a");
+  }
+
+  /** Test method. */
+  @Test
+  public void parseOptions() {
+    final Function func = _HTML_PARSE;
+    final String html = "&lt;html&gt;&lt;body&gt;&lt;p&gt;a&lt;b&gt;b&lt;/b&gt;" +
+        "&lt;br&gt;&lt;/p&gt;";
+    query(func.args(html) + "//p/string()", "ab");
+    query(func.args(html) + "//br ! name()", "br");
+    // options for serializing the TagSoup output have no effect
+    query("deep-equal(" + func.args(html) + ", " + func.args(html, " map {"
+        + "'method': 'html', 'omit-xml-declaration': true(), "
+        + "'doctype-system': 'about:legacy-compat' }") + ")", true);
+  }
 }
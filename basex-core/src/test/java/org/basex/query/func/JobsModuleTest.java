@@ -19,9 +19,9 @@ import org.junit.*;
  */
 public final class JobsModuleTest extends AdvancedQueryTest {
   /** Very slow query. */
-  private static final String VERY_SLOW_QUERY = "(1 to 10000000000)[.=1]";
+  private static final String VERY_SLOW_QUERY = "(1 to 10000000000)[string() = '1']";
   /** Slow query. */
-  private static final String SLOW_QUERY = "(1 to 10000000)[.=1]";
+  private static final String SLOW_QUERY = "(1 to 10000000)[string() = '1']";
 
   /** Wait until all queries have been processed. */
   @After
@@ -3,6 +3,7 @@ package org.basex.query.func;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
 import org.junit.*;
 
@@ -90,6 +91,33 @@ public final class JsonModuleTest extends AdvancedQueryTest {
     query(_JSON_PARSE.args("null", map), "");
   }
 
+  /** Test method. */
+  @Test public void parseStream() {
+    final String path = new IOFile(sandbox(), "input.json").path();
+    final String map = " map { 'format':'xquery' }";
+    final String members = " map { 'format':'xquery', 'members':true() }";
+
+    query(_FILE_WRITE_TEXT.args(path, "{\"A\":\"]\\\"}\"}\n[1]\n\"x\" 2 null\n{}"));
+    query(_JSON_PARSE_STREAM.args(path, map) +
+        "!serialize(., map { 'method':'json', 'indent':'no' })",
+        "{\"A\":\"]\\\"}\"}\n[1]\n\"x\"\n2\n{}");
+    query("head(" + _JSON_PARSE_STREAM.args(path, map) + ")?A", "]\"}");
+    query("count(" + _JSON_PARSE_STREAM.args(path) + ')', 6);
+    error(_JSON_PARSE_STREAM.args(path, members), JSON_PARSE_X);
+
+    query(_FILE_WRITE_TEXT.args(path, "[ [1, 2], {\"A\":1}, \"]\", 3 ] "));
+    query("count(" + _JSON_PARSE_STREAM.args(path, members) + ')', 4);
+    query("count(" + _JSON_PARSE_STREAM.args(path, map) + ')', 1);
+    query(_FILE_WRITE_TEXT.args(path, "[]"));
+    query(_JSON_PARSE_STREAM.args(path, members), "");
+    query(_FILE_WRITE_TEXT.args(path, "[1,]"));
+    query(_JSON_PARSE_STREAM.args(path, " map { 'members':true(), 'liberal':true() }") +
+        "/data()", 1);
+    error(_JSON_PARSE_STREAM.args(path, members), JSON_PARSE_X_X_X);
+    query(_FILE_WRITE_TEXT.args(path, "[1"));
+    error(_JSON_PARSE_STREAM.args(path, members), JSON_PARSE_X);
+  }
+
   /** Test method. */
   @Test public void serialize() {
     serial("<json type='object'/>", "", "{\n}");
@@ -120,6 +120,18 @@ public final class MapModuleTest extends QueryPlanTest {
     // GH1602
     query("let $_ := 'combine' return " + func.args(" map { 0:1 }",
         " map { 'duplicates': $_ }") + "?0", 1);
+
+    // larger maps, input maps remain unchanged
+    query("let $n := xs:integer(<_>10000</_>) return map:size(" +
+        func.args(" for $i in 1 to $n return map { $i: $i, -$i: $i }") + ")", 20000);
+    query("let $n := xs:integer(<_>10000</_>) return sum(" +
+        func.args(" for $i in 1 to $n return map { $i mod 100: $i }",
+        " map { 'duplicates': 'combine' }") + "?*)", 50005000);
+    query("let $n := xs:integer(<_>10000</_>) return " +
+        func.args(" for $i in 1 to $n return map { $i mod 100: $i }",
+        " map { 'duplicates': 'use-last' }") + "?1", 9901);
+    query("let $m := map { 1: 1, 2: 2 } let $n := " + func.args(" ($m, map { 3: 3 })") +
+        " return (map:size($m), map:size($n))", "2\n3");
   }
 
   /** Test method. */
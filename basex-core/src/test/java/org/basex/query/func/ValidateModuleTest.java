@@ -3,7 +3,9 @@ package org.basex.query.func;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
+import org.basex.util.*;
 import org.junit.*;
 
 /**
@@ -74,6 +76,13 @@ public final class ValidateModuleTest extends AdvancedQueryTest {
       "<xs:element name='root'/> " +
       "</xs:schema> " +
       "return " + _VALIDATE_XSD_INFO.args(" $doc", " $schema"), "");
+    // specify main-memory fragments with namespaces as arguments
+    query(
+      "let $doc := <n:root xmlns:n='N' a='1'/> " +
+      "let $schema := <xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' " +
+      "targetNamespace='N'><xs:element name='root'><xs:complexType>" +
+      "<xs:attribute name='a'/></xs:complexType></xs:element></xs:schema> " +
+      "return " + _VALIDATE_XSD_INFO.args(" $doc", " $schema"), "");
 
     // returned error
     query("exists(" + _VALIDATE_XSD_INFO.args(FILE) + ')', true);
@@ -90,6 +99,41 @@ public final class ValidateModuleTest extends AdvancedQueryTest {
     error(_VALIDATE_XSD_INFO.args(FILE, XSD, "0.99"), VALIDATE_VERSION_X);
   }
 
+  /** Test method. */
+  @Test
+  public void xsdCache() {
+    final String path = new IOFile(sandbox(), "cached.xsd").path();
+    final String schema = "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+      "<xs:element name='%'/></xs:schema>";
+
+    // repeated validations with the same schema
+    query(_FILE_WRITE_TEXT.args(path, Util.info(schema, "a")));
+    query("count(for $i in 1 to 3 return " + _VALIDATE_XSD_INFO.args(" <a/>", path) + ')',
+        0);
+    query("count(for $i in 1 to 3 return " + _VALIDATE_XSD_INFO.args(" <b/>", path) + ')',
+        3);
+
+    // modified schema file must not be served from the cache
+    query(_FILE_WRITE_TEXT.args(path, Util.info(schema, "bb")));
+    query("exists(" + _VALIDATE_XSD_INFO.args(" <a/>", path) + ')', true);
+    query("exists(" + _VALIDATE_XSD_INFO.args(" <bb/>", path) + ')', false);
+
+    // modified included schema must not be served from the cache
+    final String include = new IOFile(sandbox(), "include.xsd").path();
+    query(_FILE_WRITE_TEXT.args(include, Util.info(schema, "a")));
+    query(_FILE_WRITE_TEXT.args(path, "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+      "<xs:include schemaLocation='include.xsd'/></xs:schema>"));
+    query("exists(" + _VALIDATE_XSD_INFO.args(" <a/>", path) + ')', false);
+    query(_FILE_WRITE_TEXT.args(include, Util.info(schema, "bb")));
+    query("exists(" + _VALIDATE_XSD_INFO.args(" <a/>", path) + ')', true);
+    query("exists(" + _VALIDATE_XSD_INFO.args(" <bb/>", path) + ')', false);
+
+    // main-memory schemas with different contents
+    query(_VALIDATE_XSD_INFO.args(" <a/>", " " + Util.info(schema, "a")), "");
+    query("exists(" + _VALIDATE_XSD_INFO.args(" <a/>", " " + Util.info(schema, "b")) + ')',
+        true);
+  }
+
   /** Test method. */
   @Test
   public void xsdReport() {
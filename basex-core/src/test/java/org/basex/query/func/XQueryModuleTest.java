@@ -35,7 +35,7 @@ public final class XQueryModuleTest extends AdvancedQueryTest {
 
     // check additional options
     query(_DB_CREATE.args(NAME));
-    query("try { " + _XQUERY_EVAL.args("(1 to 10000000000000)[. = 0]", " map { }",
+    query("try { " + _XQUERY_EVAL.args("(1 to 10000000000000)[string() = '0']", " map { }",
         " map { 'timeout': 1 }") + " } catch * { () }", "");
     query(_XQUERY_EVAL.args("static-base-uri()", " map { }",
         " map { 'base-uri': 'http://x.x/' }"), "http://x.x/");
@@ -46,7 +46,7 @@ public final class XQueryModuleTest extends AdvancedQueryTest {
         " map { 'permission': 'none' }"), XQUERY_PERMISSION1_X);
     error(_XQUERY_EVAL.args(_FILE_EXISTS.args("x").trim(), " map { }",
         " map { 'permission': 'none' }"), XQUERY_PERMISSION1_X);
-    error(_XQUERY_EVAL.args("(1 to 10000000000000)[. = 0]", " map { }",
+    error(_XQUERY_EVAL.args("(1 to 10000000000000)[string() = '0']", " map { }",
         " map { 'timeout': 1 }"), XQUERY_TIMEOUT);
     error(_XQUERY_EVAL.args("(1 to 10000000000000) ! <a/>", " map { }",
         " map { 'memory': 10 }"), XQUERY_MEMORY);
@@ -113,6 +113,42 @@ public final class XQueryModuleTest extends AdvancedQueryTest {
     error(_XQUERY_FORK_JOIN.args(" count#1"), ZEROFUNCS_X_X);
     error(_XQUERY_FORK_JOIN.args(" 123"), ZEROFUNCS_X_X);
     error(_XQUERY_FORK_JOIN.args(" error#0"), FUNERR1);
+    error(_XQUERY_FORK_JOIN.args(" (error#0, function() { (1 to 100000000)[.=0] })"), FUNERR1);
+  }
+
+  /** Test method. */
+  @Test
+  public void parallelForEach() {
+    query(_XQUERY_PARALLEL_FOR_EACH.args(" ()", " string#1"), "");
+    query(_XQUERY_PARALLEL_FOR_EACH.args(" 1 to 3", " function($i) { $i * 2 }"), "2\n4\n6");
+    query("sum(" + _XQUERY_PARALLEL_FOR_EACH.args(" 1 to 100000", " function($i) { $i * 2 }") +
+        ')', 10000100000L);
+    // check that results are returned in the correct order
+    query("deep-equal(" + _XQUERY_PARALLEL_FOR_EACH.args(" 1 to 100000",
+        " function($i) { $i, -$i }") + ", (1 to 100000) ! (., -.))", true);
+    // nested calls
+    query("sum(" + _XQUERY_PARALLEL_FOR_EACH.args(" 1 to 100",
+        " function($i) { " + _XQUERY_FORK_JOIN.args(" (1 to 20) ! function() { $i }") + " }") +
+        ')', 101000);
+
+    // errors
+    query("try { " + _XQUERY_PARALLEL_FOR_EACH.args(" 1 to 1000",
+        " function($i) { if($i = 500) then error(xs:QName('X')) else $i }") +
+        " } catch X { 'caught' }", "caught");
+    error(_XQUERY_PARALLEL_FOR_EACH.args(" 1", " true#0"), FUNARITY_X_X);
+  }
+
+  /** Test method. */
+  @Test
+  public void parallelFilter() {
+    query(_XQUERY_PARALLEL_FILTER.args(" ()", " boolean#1"), "");
+    query(_XQUERY_PARALLEL_FILTER.args(" 1 to 10", " function($i) { $i mod 3 = 0 }"), "3\n6\n9");
+    query("count(" + _XQUERY_PARALLEL_FILTER.args(" 1 to 100000",
+        " function($i) { $i mod 3 = 0 }") + ')', 33333);
+
+    // errors
+    error(_XQUERY_PARALLEL_FILTER.args(" 1 to 10", " function($i) { $i }"), INVTYPE_X_X_X);
+    error(_XQUERY_PARALLEL_FILTER.args(" 1", " true#0"), FUNARITY_X_X);
   }
 
   /** Test method. */
@@ -37,6 +37,16 @@ public final class XsltModuleTest extends AdvancedQueryTest {
         "<X><xsl:value-of select='$t'/></X></xsl:template>");
     query(_XSLT_TRANSFORM.args(doc, ' ' + style, " map { 't': '1' }"), "<X>1</X>");
     query(_XSLT_TRANSFORM.args(doc, ' ' + style, " map { 't' : text { '1' } }"), "<X>1</X>");
+
+    // namespaces, attributes and text output
+    style = wrap("<xsl:template match='node()|@*'>" +
+        "<xsl:copy><xsl:apply-templates select='node()|@*'/></xsl:copy></xsl:template>");
+    query(_XSLT_TRANSFORM.args(" <a xmlns='u' xmlns:p='v' x='1' p:y='2'/>", ' ' + style),
+        "<a xmlns=\"u\" xmlns:p=\"v\" x=\"1\" p:y=\"2\"/>");
+    query(_XSLT_TRANSFORM.args(" document { <r xmlns:n='n'><n:c/></r> }/*/*", ' ' + style),
+        "<n:c xmlns:n=\"n\"/>");
+    style = wrap("<xsl:output method='text'/><xsl:template match='/'>1</xsl:template>");
+    query(_XSLT_TRANSFORM.args(doc, ' ' + style), 1);
   }
 
   /** Test method. */
@@ -0,0 +1,38 @@
+package org.basex.query.util;
+
+import static org.basex.query.QueryError.*;
+import static org.junit.Assert.*;
+
+import org.basex.query.*;
+import org.basex.query.util.regex.*;
+import org.junit.*;
+
+/**
+ * Tests for the regular expression cache.
+ *
+ * @author BaseX Team 2005-18, BSD License
+ * @author Christian Gruen
+ */
+public final class RegExCacheTest extends AdvancedQueryTest {
+  /** Checks that the number of cached patterns is limited. */
+  @Test public void bounded() {
+    final int max = RegExCache.MAX * 2;
+    query("count((1 to " + max + ")[matches('x' || ., 'x' || . || '$')])", max);
+    assertTrue(RegExCache.get().size() <= RegExCache.MAX);
+  }
+
+  /** Checks that cached patterns are distinguished by flags and checks. */
+  @Test public void keys() {
+    query("for $f in ('i', '') return matches('A', 'a', $f)", "true\nfalse");
+    query("let $p := <_/> return matches('abc', string($p))", true);
+    error("let $p := <_/> return replace('abc', string($p), 'x')", REGROUP);
+  }
+
+  /** Checks patterns that are compiled at compile time. */
+  @Test public void literals() {
+    final long hits = RegExCache.get().hits();
+    query("count((1 to 1000)[matches(string(.), '^1')])", 112);
+    assertTrue(RegExCache.get().hits() - hits < 1000);
+    error("matches('a', '(')", REGPAT_X);
+  }
+}
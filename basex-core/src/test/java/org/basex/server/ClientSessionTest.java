@@ -5,6 +5,8 @@ import static org.junit.Assert.*;
 import java.io.*;
 
 import org.basex.*;
+import org.basex.api.client.*;
+import org.basex.core.*;
 import org.basex.util.*;
 import org.junit.*;
 
@@ -45,4 +47,85 @@ public class ClientSessionTest extends SessionTest {
       fail(Util.message(ex));
     }
   }
+
+  /**
+   * Sends commands and query requests in a single batch.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void batch() throws IOException {
+    final ClientSession cs = (ClientSession) session;
+    try(ClientQuery query = cs.query("declare variable $a external; $a * 2")) {
+      final ClientBatch batch = cs.batch();
+      batch.execute("xquery 1");
+      for(int i = 0; i < 3; i++) {
+        batch.bind(query, "a", i, "xs:integer").execute(query);
+      }
+      assertArrayEquals(new String[] { "1", "", "0", "", "2", "", "4" }, batch.send());
+      assertEquals(0, batch.size());
+    }
+    assertEquals(0, cs.batch().send().length);
+  }
+
+  /**
+   * Sends a batch with erroneous requests.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void batchError() throws IOException {
+    final ClientSession cs = (ClientSession) session;
+    final ClientBatch batch = cs.batch().execute("xquery (").execute("xquery 2");
+    try {
+      batch.send();
+      fail("Error expected.");
+    } catch(final BaseXException ex) {
+      Util.debug(ex);
+    }
+    // session is still usable
+    assertEquals("3", cs.execute("xquery 3"));
+  }
+
+  /**
+   * Sends a batch with large requests and results.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void batchLarge() throws IOException {
+    final ClientSession cs = (ClientSession) session;
+    final String string = new String(new char[1 << 20]).replace('\0', 'x');
+    try(ClientQuery query = cs.query("declare variable $a external; $a")) {
+      final ClientBatch batch = cs.batch();
+      final int count = 16;
+      for(int i = 0; i < count; i++) batch.bind(query, "a", string, "").execute(query);
+      final String[] results = batch.send();
+      assertEquals(count * 2, results.length);
+      for(int i = 0; i < count; i++) assertEquals(string, results[i * 2 + 1]);
+    }
+  }
+
+  /**
+   * Sends a batch that closes the session.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void batchExit() throws IOException {
+    final ClientSession cs = (ClientSession) session;
+    try {
+      cs.batch().execute("exit").execute("xquery 1").send();
+      fail("Error expected.");
+    } catch(final BaseXException ex) {
+      Util.debug(ex);
+    }
+
+    try(ClientSession client = createClient()) {
+      assertArrayEquals(new String[] { "1", "" },
+          client.batch().execute("xquery 1").execute("exit").send());
+      try {
+        client.execute("xquery 2");
+        fail("Session was not closed.");
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
 }
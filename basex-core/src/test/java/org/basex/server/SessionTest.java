@@ -286,6 +286,71 @@ public abstract class SessionTest extends SandboxTest {
     }
   }
 
+  /** Runs a query and decodes the results in the binary XDM format.
+   * @throws IOException I/O exception */
+  @Test
+  public void queryXdm() throws IOException {
+    try(Query query = session.query(SerializerOptions.METHOD.arg("xdm") +
+        "1, 'a', <a b='c'>d</a>, <a/>, map { 'k': 2.5e0 }, [ true() ]")) {
+      XdmDecoder.Atomic atomic = (XdmDecoder.Atomic) query.nextObject();
+      assertEquals("xs:integer", atomic.type);
+      assertEquals(1L, atomic.value);
+      atomic = (XdmDecoder.Atomic) query.nextObject();
+      assertEquals("xs:string", atomic.type);
+      assertEquals("a", atomic.value);
+
+      XdmDecoder.Node node = (XdmDecoder.Node) query.nextObject();
+      assertEquals("a", node.name);
+      assertEquals("c", node.attributes.get(0).value);
+      assertEquals("d", node.string());
+      node = (XdmDecoder.Node) query.nextObject();
+      assertEquals("a", node.name);
+      assertTrue(node.children.isEmpty());
+
+      assertEquals("{k=[2.5]}", query.nextObject().toString());
+      assertEquals("[[true]]", query.nextObject().toString());
+      assertNull(query.nextObject());
+    }
+  }
+
+  /** Decodes results in the binary XDM format with full type information.
+   * @throws IOException I/O exception */
+  @Test
+  public void queryXdmFull() throws IOException {
+    try(Query query = session.query(SerializerOptions.METHOD.arg("xdm") + "<a/>, <a b=''/>")) {
+      query.cache(true);
+      assertEquals("a", ((XdmDecoder.Node) query.nextObject()).name);
+      assertEquals("element()", query.type().toString());
+      assertEquals("b", ((XdmDecoder.Node) query.nextObject()).attributes.get(0).name);
+      assertNull(query.nextObject());
+    }
+  }
+
+  /** Rejects mixed retrieval of strings and decoded objects.
+   * @throws IOException I/O exception */
+  @Test
+  public void queryXdmMixed() throws IOException {
+    final String q = SerializerOptions.METHOD.arg("xdm") + "<a/>, <a/>";
+    try(Query query = session.query(q)) {
+      assertNotNull(query.next());
+      try {
+        query.nextObject();
+        fail("Error expected.");
+      } catch(final BaseXException ex) {
+        Util.debug(ex);
+      }
+    }
+    try(Query query = session.query(q)) {
+      assertNotNull(query.nextObject());
+      try {
+        query.next();
+        fail("Error expected.");
+      } catch(final BaseXException ex) {
+        Util.debug(ex);
+      }
+    }
+  }
+
   /** Queries binary content.
    * @throws IOException I/O exception */
   @Test
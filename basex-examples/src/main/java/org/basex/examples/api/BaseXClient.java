@@ -100,6 +100,14 @@ public final class BaseXClient implements Closeable {
     return new Query(query);
   }
 
+  /**
+   * Creates a batch for sending multiple commands and query requests in a single round trip.
+   * @return batch
+   */
+  public Batch batch() {
+    return new Batch();
+  }
+
   /**
    * Creates a database.
    * @param name name of database
@@ -257,6 +265,124 @@ public final class BaseXClient implements Closeable {
     return sb.toString();
   }
 
+  /**
+   * Inner class for sending a batch of requests in a single round trip.
+   * Requires BaseX 9.1 or later.
+   */
+  public class Batch {
+    /** Request codes (-1 for database commands). */
+    private final ArrayList<Integer> codes = new ArrayList<>();
+    /** Request arguments. */
+    private final ArrayList<String> args = new ArrayList<>();
+
+    /**
+     * Adds a database command.
+     * @param command command
+     * @return self reference
+     */
+    public Batch execute(final String command) {
+      return add(-1, command);
+    }
+
+    /**
+     * Adds the binding of a value with the specified type to an external variable.
+     * @param query query
+     * @param name name of variable
+     * @param value value
+     * @param type type (can be an empty string)
+     * @return self reference
+     */
+    public Batch bind(final Query query, final String name, final String value,
+        final String type) {
+      query.cache = null;
+      return add(3, query.id + '\0' + name + '\0' + value + '\0' + type);
+    }
+
+    /**
+     * Adds the execution of a query.
+     * @param query query
+     * @return self reference
+     */
+    public Batch execute(final Query query) {
+      return add(5, query.id);
+    }
+
+    /**
+     * Adds the closing of a query.
+     * @param query query
+     * @return self reference
+     */
+    public Batch close(final Query query) {
+      return add(2, query.id);
+    }
+
+    /**
+     * Sends all requests and returns their results.
+     * All requests are evaluated, even if some of them fail. The requests are written by a
+     * separate thread, so that large requests and results cannot block each other.
+     * @return results (empty strings for bindings and closed queries)
+     * @throws IOException first error message, or I/O exception
+     */
+    public String[] send() throws IOException {
+      final int size = codes.size();
+      final IOException[] failure = { null };
+      final Thread writer = new Thread(() -> {
+        try {
+          final BufferedOutputStream bos = new BufferedOutputStream(out);
+          bos.write(15);
+          bos.write((size + "\0").getBytes(UTF8));
+          for(int c = 0; c < size; c++) {
+            if(codes.get(c) != -1) bos.write(codes.get(c));
+            bos.write((args.get(c) + '\0').getBytes(UTF8));
+          }
+          bos.flush();
+        } catch(final IOException ex) {
+          failure[0] = ex;
+        }
+      });
+      writer.setDaemon(true);
+      writer.start();
+
+      final String[] results = new String[size];
+      String error = null;
+      for(int c = 0; c < size; c++) {
+        results[c] = receive();
+        final String msg;
+        if(codes.get(c) == -1) {
+          info = receive();
+          msg = info;
+          if(in.read() == 0) continue;
+        } else {
+          if(in.read() == 0) continue;
+          msg = receive();
+        }
+        if(error == null) error = msg;
+      }
+      try {
+        writer.join();
+      } catch(final InterruptedException ex) {
+        throw new IOException(ex);
+      }
+      codes.clear();
+      args.clear();
+      if(failure[0] != null) throw failure[0];
+      if(error != null) throw new IOException(error);
+      return results;
+    }
+
+    /**
+     * Adds a request.
+     * @param code request code
+     * @param arg argument
+     * @return self reference
+     */
+    private Batch add(final int code, final String arg) {
+      codes.add(code);
+      args.add(arg);
+      return this;
+    }
+  }
+
   /**
    * Inner class for iterative query execution.
    */